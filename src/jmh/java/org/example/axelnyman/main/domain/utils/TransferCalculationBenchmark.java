@@ -0,0 +1,125 @@
+package org.example.axelnyman.main.domain.utils;
+
+import org.example.axelnyman.main.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the transfer calculation run on every budget lock, comparing
+ * {@link TransferCalculationUtils} with {@link MinorUnitTransferCalculationUtils}.
+ * Run with {@code ./mvnw -P benchmarks verify}; results land in {@code target/jmh-result.json}.
+ *
+ * <p>Each budget is balanced (income equals expenses plus savings), like a budget that can be
+ * locked. The allocation profile decides how money is spread over the accounts:
+ * <ul>
+ *   <li>SINGLE_SOURCE — all income lands on one account, which funds every other account</li>
+ *   <li>UNIFORM — income and spending spread evenly over all accounts</li>
+ *   <li>SKEWED — a few accounts carry most of the amounts (long-tailed)</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferCalculationBenchmark {
+
+    public enum AllocationProfile { SINGLE_SOURCE, UNIFORM, SKEWED }
+
+    @Param({"5", "50", "500", "5000"})
+    public int accounts;
+
+    @Param({"2", "10"})
+    public int itemsPerAccount;
+
+    @Param({"SINGLE_SOURCE", "UNIFORM", "SKEWED"})
+    public AllocationProfile profile;
+
+    private final Budget budget = new Budget(1, 2025);
+    private List<BudgetIncome> income;
+    private List<BudgetExpense> expenses;
+    private List<BudgetSavings> savings;
+
+    @Setup(Level.Trial)
+    public void generateBudget() {
+        // Fixed seed so every run benchmarks the same budget
+        Random random = new Random(42L + accounts * 31L + itemsPerAccount);
+        UUID budgetId = UUID.randomUUID();
+        List<UUID> accountIds = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            accountIds.add(new UUID(0L, i + 1L));
+        }
+
+        income = new ArrayList<>();
+        expenses = new ArrayList<>();
+        savings = new ArrayList<>();
+
+        int items = accounts * itemsPerAccount;
+        long incomeCents = 0;
+        long spentCents = 0;
+        for (int i = 0; i < items; i++) {
+            long cents = amountCents(random);
+            if (i % 2 == 0) {
+                UUID account = profile == AllocationProfile.SINGLE_SOURCE
+                        ? accountIds.get(0)
+                        : pickAccount(accountIds, random);
+                income.add(new BudgetIncome(budgetId, account, "Income " + i, BigDecimal.valueOf(cents, 2)));
+                incomeCents += cents;
+            } else {
+                expenses.add(new BudgetExpense(budgetId, pickAccount(accountIds, random), "Expense " + i,
+                        BigDecimal.valueOf(cents, 2), null, null, false));
+                spentCents += cents;
+            }
+        }
+
+        // Balance the budget with one savings line, or one extra income if spending is larger
+        long remainder = incomeCents - spentCents;
+        UUID balancingAccount = pickAccount(accountIds, random);
+        if (remainder > 0) {
+            savings.add(new BudgetSavings(budgetId, balancingAccount, "Savings", BigDecimal.valueOf(remainder, 2)));
+        } else if (remainder < 0) {
+            UUID account = profile == AllocationProfile.SINGLE_SOURCE ? accountIds.get(0) : balancingAccount;
+            income.add(new BudgetIncome(budgetId, account, "Top-up", BigDecimal.valueOf(-remainder, 2)));
+        }
+    }
+
+    @Benchmark
+    public List<TransferPlan> calculateTransfers() {
+        return TransferCalculationUtils.calculateTransfers(budget, income, expenses, savings);
+    }
+
+    @Benchmark
+    public List<TransferPlan> calculateTransfersMinorUnits() {
+        return MinorUnitTransferCalculationUtils.calculateTransfers(budget, income, expenses, savings);
+    }
+
+    @Benchmark
+    public List<AccountNetPosition> calculateAccountNetPositions() {
+        return TransferCalculationUtils.calculateAccountNetPositions(income, expenses, savings);
+    }
+
+    private long amountCents(Random random) {
+        if (profile == AllocationProfile.SKEWED) {
+            // Pareto-like: most amounts small, a few very large
+            double pareto = 1.0 / Math.pow(1.0 - random.nextDouble(), 1.0 / 1.5);
+            return Math.min(100_00L * (long) pareto, 1_000_000_00L) + random.nextInt(100);
+        }
+        return 1_00L + random.nextInt(2_000_00);
+    }
+
+    private UUID pickAccount(List<UUID> accountIds, Random random) {
+        if (profile == AllocationProfile.SKEWED) {
+            // Squaring biases the pick toward the first accounts
+            double r = random.nextDouble();
+            return accountIds.get((int) (r * r * accountIds.size()));
+        }
+        return accountIds.get(random.nextInt(accountIds.size()));
+    }
+}
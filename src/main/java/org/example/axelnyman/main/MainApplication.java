@@ -3,12 +3,14 @@ package org.example.axelnyman.main;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Application entry point for the Balance backend REST API.
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class MainApplication {
 
 	public static void main(String[] args) {
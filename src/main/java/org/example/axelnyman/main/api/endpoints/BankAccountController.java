@@ -8,10 +8,16 @@ import jakarta.validation.Valid;
 import org.example.axelnyman.main.domain.abstracts.IDomainService;
 import org.example.axelnyman.main.domain.dtos.BalanceHistoryDtos.*;
 import org.example.axelnyman.main.domain.dtos.BankAccountDtos.*;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @RestController
@@ -39,10 +45,12 @@ public class BankAccountController {
     @GetMapping
     @Operation(summary = "Get all bank accounts", description = "Retrieve all active bank accounts with total balance and account count")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Bank accounts retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Bank accounts retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match")
     })
-    public ResponseEntity<BankAccountListResponse> getAllBankAccounts() {
-        return ResponseEntity.ok(domainService.getAllBankAccounts());
+    public ResponseEntity<BankAccountListResponse> getAllBankAccounts(WebRequest webRequest) {
+        return ConditionalGet.ifNoneMatch(webRequest, domainService.getBankAccountsETag(),
+                domainService::getAllBankAccounts);
     }
 
     @PutMapping("/{id}")
@@ -95,4 +103,69 @@ public class BankAccountController {
             @RequestParam(defaultValue = "20") int size) {
         return ResponseEntity.ok(domainService.getBalanceHistory(id, page, size));
     }
+
+    @GetMapping("/{id}/balance-history/keyset")
+    @Operation(summary = "Get balance history by cursor", description = "Retrieve balance history newest first using keyset pagination. Pass the returned nextCursor to fetch the following page; no total count is computed, so deep pages cost the same as the first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance history retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "404", description = "Bank account not found")
+    })
+    public ResponseEntity<BalanceHistoryKeysetPageResponse> getBalanceHistoryKeyset(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(domainService.getBalanceHistoryKeyset(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/balance-series")
+    @Operation(summary = "Get balance series", description = "Balance of a bank account at the end of each day, week or month between from and to (default: the last 12 months), computed server-side for charting")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance series retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or bucket"),
+            @ApiResponse(responseCode = "404", description = "Bank account not found")
+    })
+    public ResponseEntity<BalanceSeriesResponse> getBalanceSeries(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String bucket) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(12);
+        return ResponseEntity.ok(domainService.getBalanceSeries(id, start, end, BalanceSeriesBucket.fromParam(bucket)));
+    }
+
+    @GetMapping("/balance-series")
+    @Operation(summary = "Get net worth series", description = "Summed balance of all active bank accounts at the end of each day, week or month between from and to (default: the last 12 months), in one query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Net worth series retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or bucket")
+    })
+    public ResponseEntity<NetWorthSeriesResponse> getNetWorthSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String bucket) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(12);
+        return ResponseEntity.ok(domainService.getNetWorthSeries(start, end, BalanceSeriesBucket.fromParam(bucket)));
+    }
+
+    @GetMapping("/{id}/balance-history/export")
+    @Operation(summary = "Export balance history", description = "Stream the full balance history of a bank account, newest first, as NDJSON (default) or CSV. Rows are written as they are read from the database, so exports of any length use constant memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance history streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "404", description = "Bank account not found")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBalanceHistory(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        BalanceHistoryExportFormat exportFormat = BalanceHistoryExportFormat.fromParam(format);
+        BalanceHistoryExportWriter writer = domainService.exportBalanceHistory(id, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"balance-history-" + id + "." + exportFormat.fileExtension() + "\"")
+                .body(writer::writeTo);
+    }
 }
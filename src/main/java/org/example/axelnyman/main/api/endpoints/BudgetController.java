@@ -4,9 +4,11 @@ import jakarta.validation.Valid;
 import org.example.axelnyman.main.domain.abstracts.IDomainService;
 import org.example.axelnyman.main.domain.dtos.BudgetDtos.*;
 import org.example.axelnyman.main.domain.dtos.TodoDtos.*;
+import org.example.axelnyman.main.domain.model.TransferStrategyMode;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -27,8 +29,23 @@ public class BudgetController {
     }
 
     @GetMapping
-    public ResponseEntity<BudgetListResponse> getAllBudgets() {
-        return ResponseEntity.ok(domainService.getAllBudgets());
+    public ResponseEntity<BudgetListResponse> getAllBudgets(WebRequest webRequest) {
+        return ConditionalGet.ifNoneMatch(webRequest, domainService.getBudgetsETag(), domainService::getAllBudgets);
+    }
+
+    @GetMapping("/totals/consistency")
+    public ResponseEntity<BudgetTotalsConsistencyResponse> verifyBudgetTotals() {
+        return ResponseEntity.ok(domainService.verifyBudgetTotals());
+    }
+
+    @PostMapping("/totals/rebuild")
+    public ResponseEntity<BudgetTotalsConsistencyResponse> rebuildBudgetTotals() {
+        return ResponseEntity.ok(domainService.rebuildBudgetTotals());
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<BudgetTrendsResponse> getBudgetTrends(@RequestParam(defaultValue = "12") int months) {
+        return ResponseEntity.ok(domainService.getBudgetTrends(months));
     }
 
     @GetMapping("/{id}")
@@ -122,8 +139,19 @@ public class BudgetController {
     }
 
     @PutMapping("/{id}/lock")
-    public ResponseEntity<BudgetResponse> lockBudget(@PathVariable UUID id) {
-        return ResponseEntity.ok(domainService.lockBudget(id));
+    public ResponseEntity<BudgetResponse> lockBudget(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String transferStrategy) {
+        TransferStrategyMode mode = transferStrategy != null ? TransferStrategyMode.fromParam(transferStrategy) : null;
+        return ResponseEntity.ok(domainService.lockBudget(id, mode));
+    }
+
+    @GetMapping("/{id}/transfer-preview")
+    public ResponseEntity<TransferPreviewResponse> getTransferPreview(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String transferStrategy) {
+        TransferStrategyMode mode = transferStrategy != null ? TransferStrategyMode.fromParam(transferStrategy) : null;
+        return ResponseEntity.ok(domainService.getTransferPreview(id, mode));
     }
 
     @PutMapping("/{id}/unlock")
@@ -132,8 +160,9 @@ public class BudgetController {
     }
 
     @GetMapping("/{budgetId}/todo-list")
-    public ResponseEntity<TodoListResponse> getTodoList(@PathVariable UUID budgetId) {
-        return ResponseEntity.ok(domainService.getTodoList(budgetId));
+    public ResponseEntity<TodoListResponse> getTodoList(@PathVariable UUID budgetId, WebRequest webRequest) {
+        return ConditionalGet.ifNoneMatch(webRequest, domainService.getTodoListETag(budgetId),
+                () -> domainService.getTodoList(budgetId));
     }
 
     @PutMapping("/{budgetId}/todo-list/items/{id}")
@@ -0,0 +1,35 @@
+package org.example.axelnyman.main.api.endpoints;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for polled read endpoints. Answers 304 when {@code If-None-Match} matches the
+ * current entity tag, and only builds the body otherwise; both responses carry the tag and
+ * {@code Cache-Control: no-cache}, so browsers revalidate on every fetch.
+ *
+ * <p>Callers compute the tag before the body: a write landing in between can leave a body newer
+ * than its tag, which only costs one extra 200 on the next poll, never a stale 304.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String eTag, Supplier<T> body) {
+        // Sets the ETag header, and the 304 status on a match
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body.get());
+    }
+}
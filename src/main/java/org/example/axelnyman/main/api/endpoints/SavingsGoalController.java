@@ -10,6 +10,7 @@ import org.example.axelnyman.main.domain.dtos.SavingsGoalDtos.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -39,10 +40,12 @@ public class SavingsGoalController {
     @GetMapping
     @Operation(summary = "Get active savings goals", description = "Retrieve all active savings goals with per-goal allocation summary; archived goals excluded")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Savings goals retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Savings goals retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match")
     })
-    public ResponseEntity<SavingsGoalListResponse> getAllSavingsGoals() {
-        return ResponseEntity.ok(domainService.getAllSavingsGoals());
+    public ResponseEntity<SavingsGoalListResponse> getAllSavingsGoals(WebRequest webRequest) {
+        return ConditionalGet.ifNoneMatch(webRequest, domainService.getSavingsGoalsETag(),
+                domainService::getAllSavingsGoals);
     }
 
     @GetMapping("/{id}")
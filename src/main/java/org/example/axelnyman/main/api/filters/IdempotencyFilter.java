@@ -0,0 +1,223 @@
+package org.example.axelnyman.main.api.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.axelnyman.main.domain.model.IdempotencyKey;
+import org.example.axelnyman.main.domain.services.IdempotencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Makes mutating API requests safe to retry. A request carrying an {@code Idempotency-Key}
+ * header runs once; a retry with the same key and the same method, URI and body gets the stored
+ * response back (marked {@code Idempotency-Replayed: true}) without running the handler again.
+ *
+ * <p>Only 2xx responses are stored. A failed request releases its key, so a retry runs again.
+ * Reusing a key for a different request is 422, and retrying while the first attempt is still
+ * running is 409. A reservation whose request died without finishing is taken over by a retry
+ * once it is older than {@code app.idempotency.lease}.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !MUTATING_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/")
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = hash(request, cachedRequest.body);
+
+        if (!idempotencyService.reserve(key, requestHash)) {
+            Optional<IdempotencyKey> existing = idempotencyService.find(key);
+            if (existing.isPresent()) {
+                answerFromExisting(existing.get(), requestHash, response);
+                return;
+            }
+            // The key expired or was released between the two calls
+            if (!idempotencyService.reserve(key, requestHash)) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            }
+        }
+
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean succeeded = false;
+        try {
+            chain.doFilter(cachedRequest, cachedResponse);
+            int status = cachedResponse.getStatus();
+            succeeded = status >= 200 && status < 300;
+        } finally {
+            if (!succeeded) {
+                idempotencyService.release(key);
+            }
+        }
+
+        if (succeeded) {
+            try {
+                idempotencyService.complete(key, cachedResponse.getStatus(), cachedResponse.getContentType(),
+                        new String(cachedResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                // The request's changes are committed, so keep the reservation: a retry gets 409
+                // until the lease runs out instead of running the request a second time
+                log.warn("Could not store response for Idempotency-Key {}", key, e);
+            }
+        }
+        cachedResponse.copyBodyToResponse();
+    }
+
+    private void answerFromExisting(IdempotencyKey existing, String requestHash, HttpServletResponse response)
+            throws IOException {
+        if (!existing.getRequestHash().equals(requestHash)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different request");
+            return;
+        }
+        if (!existing.isCompleted()) {
+            writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+            return;
+        }
+
+        response.setStatus(existing.getResponseStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (existing.getResponseContentType() != null) {
+            response.setContentType(existing.getResponseContentType());
+        }
+        if (existing.getResponseBody() != null) {
+            response.getOutputStream().write(existing.getResponseBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    private static String hash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Buffers the body so it can be hashed here and still be read by the controller
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available and fully read at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
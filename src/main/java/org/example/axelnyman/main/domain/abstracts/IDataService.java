@@ -8,8 +8,11 @@ import org.example.axelnyman.main.domain.model.BudgetExpense;
 import org.example.axelnyman.main.domain.model.BudgetIncome;
 import org.example.axelnyman.main.domain.model.BudgetSavings;
 import org.example.axelnyman.main.domain.model.BudgetStatus;
+import org.example.axelnyman.main.domain.model.BudgetTotals;
 import org.example.axelnyman.main.domain.model.GoalAllocation;
 import org.example.axelnyman.main.domain.model.GoalAllocationChange;
+import org.example.axelnyman.main.domain.model.IdempotencyKey;
+import org.example.axelnyman.main.domain.model.MonthlyBudgetSummary;
 import org.example.axelnyman.main.domain.model.RecurringExpense;
 import org.example.axelnyman.main.domain.model.SavingsGoal;
 import org.example.axelnyman.main.domain.model.TodoItem;
@@ -19,9 +22,12 @@ import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Data Access Service - Responsible for direct database operations
@@ -40,6 +46,14 @@ public interface IDataService {
 
     Optional<BankAccount> getBankAccountById(UUID id);
 
+    /**
+     * Cached, read-only variant of {@link #getBankAccountById}: the result is a detached copy
+     * of the committed account state, never a managed entity. Use it for validation and
+     * response mapping only; paths that modify the account or check balance invariants
+     * must use {@link #getBankAccountById}.
+     */
+    Optional<BankAccount> getBankAccountSnapshotById(UUID id);
+
     boolean isAccountLinkedToUnlockedBudget(UUID accountId);
 
     void deleteBankAccount(UUID accountId);
@@ -62,8 +76,36 @@ public interface IDataService {
 
     Page<BalanceHistory> getBalanceHistoryByBankAccountId(UUID bankAccountId, Pageable pageable);
 
+    /**
+     * Up to {@code limit} rows of an account's history, newest first, strictly after the
+     * (changeDate, createdAt, id) position given by the {@code after*} arguments. A null
+     * {@code afterId} starts from the newest row.
+     */
+    List<BalanceHistory> getBalanceHistoryKeysetPage(UUID bankAccountId, LocalDate afterChangeDate,
+                                                     LocalDateTime afterCreatedAt, UUID afterId, int limit);
+
+    /**
+     * Feeds an account's full history, newest first, to {@code consumer} one row at a time
+     * from a read-only database cursor. Rows are detached once consumed, so memory use does
+     * not grow with the length of the history.
+     */
+    void streamBalanceHistory(UUID bankAccountId, Consumer<BalanceHistory> consumer);
+
     Optional<LocalDate> getMostRecentBalanceHistoryDate(UUID bankAccountId);
 
+    /**
+     * Balance at the end of each {@code bucketUnit} ("day", "week", "month") bucket between
+     * {@code from} and {@code to}, keyed by bucket start in ascending order. Each bucket carries
+     * the latest balance recorded up to its end, so quiet buckets repeat the previous value;
+     * buckets before the account's first history row are omitted.
+     */
+    Map<LocalDate, BigDecimal> getBalanceSeries(UUID bankAccountId, LocalDate from, LocalDate to, String bucketUnit);
+
+    /**
+     * Same bucketing as {@link #getBalanceSeries}, summed over all non-deleted accounts in one query.
+     */
+    Map<LocalDate, BigDecimal> getNetWorthSeries(LocalDate from, LocalDate to, String bucketUnit);
+
     // Budget operations
     Budget saveBudget(Budget budget);
 
@@ -75,6 +117,8 @@ public interface IDataService {
 
     List<Budget> getAllBudgetsSorted();
 
+    List<Object[]> getAllBudgetsWithTotalsSorted();
+
     Optional<Budget> getBudgetById(UUID id);
 
     // Budget Income operations
@@ -112,6 +156,25 @@ public interface IDataService {
 
     BigDecimal calculateTotalSavings(UUID budgetId);
 
+    // Materialized budget totals (budget_totals projection)
+    void adjustBudgetTotals(UUID budgetId, BigDecimal incomeDelta, BigDecimal expensesDelta, BigDecimal savingsDelta);
+
+    Optional<BudgetTotals> getBudgetTotals(UUID budgetId);
+
+    List<UUID> getBudgetIdsWithDriftedTotals();
+
+    int rebuildBudgetTotals();
+
+    long countBudgets();
+
+    // Locked-month rollup (monthly_budget_summary)
+    MonthlyBudgetSummary saveMonthlyBudgetSummary(MonthlyBudgetSummary summary);
+
+    void deleteMonthlyBudgetSummary(UUID budgetId);
+
+    // Most recent {@code months} locked months, newest first
+    List<MonthlyBudgetSummary> getRecentMonthlyBudgetSummaries(int months);
+
     // Budget Delete operations (Story 22)
     void deleteBudget(UUID id);
 
@@ -126,6 +189,8 @@ public interface IDataService {
 
     TodoItem saveTodoItem(TodoItem todoItem);
 
+    List<TodoItem> saveTodoItems(List<TodoItem> todoItems);
+
     Optional<TodoList> getTodoListByBudgetId(UUID budgetId);
 
     List<TodoItem> getTodoItemsByTodoListId(UUID todoListId);
@@ -143,11 +208,22 @@ public interface IDataService {
 
     void deleteBalanceHistoryByBudgetId(UUID budgetId);
 
-    List<Budget> findLockedBudgetsUsingRecurringExpense(UUID recurringExpenseId, UUID excludeBudgetId);
+    int restoreRecurringExpensesLastUsed(UUID budgetId);
+
+    // Budget Lock operations - recurring expense bookkeeping
+    int markRecurringExpensesLastUsed(List<UUID> recurringExpenseIds, UUID budgetId, Integer month, Integer year);
 
     // Bank Account batch lookup
     List<BankAccount> getBankAccountsByIds(List<UUID> ids);
 
+    // Cached, read-only batch variant; see getBankAccountSnapshotById
+    List<BankAccount> getBankAccountSnapshotsByIds(List<UUID> ids);
+
+    // Bulk balance operations (budget lock/unlock)
+    Map<UUID, BigDecimal> applyBalanceDeltas(Map<UUID, BigDecimal> deltasByAccountId);
+
+    List<BalanceHistory> saveBalanceHistories(List<BalanceHistory> balanceHistories);
+
     // Savings Goal operations (item 070a)
     SavingsGoal saveSavingsGoal(SavingsGoal savingsGoal);
 
@@ -164,8 +240,12 @@ public interface IDataService {
 
     List<GoalAllocation> getGoalAllocationsByGoalId(UUID savingsGoalId);
 
+    List<GoalAllocation> getGoalAllocationsByGoalIds(List<UUID> savingsGoalIds);
+
     List<GoalAllocation> getGoalAllocationsByBankAccountId(UUID bankAccountId);
 
+    List<Object[]> getGoalAllocationsWithGoalNameByBankAccountId(UUID bankAccountId);
+
     BigDecimal sumAllocationsByBankAccountId(UUID bankAccountId);
 
     List<Object[]> sumAllocationsGroupedByBankAccount();
@@ -174,4 +254,39 @@ public interface IDataService {
     GoalAllocationChange saveGoalAllocationChange(GoalAllocationChange change);
 
     List<GoalAllocationChange> getGoalAllocationChangesByGoalId(UUID savingsGoalId);
+
+    // Idempotency key operations; each commits on its own
+    Optional<IdempotencyKey> getIdempotencyKey(String key);
+
+    /**
+     * Reserves {@code key} for a request about to run, taking over an uncompleted reservation
+     * made before {@code staleBefore}. Returns false if the key already exists (completed, or
+     * reserved by a request that may still be running).
+     */
+    boolean reserveIdempotencyKey(String key, String requestHash, LocalDateTime staleBefore);
+
+    void completeIdempotencyKey(String key, int status, String contentType, String body);
+
+    // Drops a reservation whose request did not succeed, so a retry runs it again
+    void releaseIdempotencyKey(String key);
+
+    int deleteIdempotencyKeysCreatedBefore(LocalDateTime cutoff);
+
+    /**
+     * Tries to take the transaction-scoped advisory lock that serializes budget lock/unlock.
+     * Never waits: returns false at once if another transaction holds it. Released on commit
+     * or rollback; must be called inside a transaction.
+     */
+    boolean tryAcquireBudgetLifecycleLock();
+
+    // Version stamps for conditional GETs: opaque strings, read in one statement each, that
+    // change whenever any row behind the matching list response is inserted, updated or deleted
+    String getBankAccountsVersionStamp();
+
+    String getBudgetsVersionStamp();
+
+    String getSavingsGoalsVersionStamp();
+
+    // Empty when the budget has no todo list
+    Optional<String> getTodoListVersionStamp(UUID budgetId);
 }
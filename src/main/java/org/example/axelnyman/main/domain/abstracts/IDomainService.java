@@ -6,7 +6,9 @@ import org.example.axelnyman.main.domain.dtos.BudgetDtos.*;
 import org.example.axelnyman.main.domain.dtos.RecurringExpenseDtos.*;
 import org.example.axelnyman.main.domain.dtos.SavingsGoalDtos.*;
 import org.example.axelnyman.main.domain.dtos.TodoDtos.*;
+import org.example.axelnyman.main.domain.model.TransferStrategyMode;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 /**
@@ -30,6 +32,14 @@ public interface IDomainService {
 
     BalanceHistoryPageResponse getBalanceHistory(UUID bankAccountId, int page, int size);
 
+    BalanceHistoryKeysetPageResponse getBalanceHistoryKeyset(UUID bankAccountId, String cursor, int size);
+
+    BalanceHistoryExportWriter exportBalanceHistory(UUID bankAccountId, BalanceHistoryExportFormat format);
+
+    BalanceSeriesResponse getBalanceSeries(UUID bankAccountId, LocalDate from, LocalDate to, BalanceSeriesBucket bucket);
+
+    NetWorthSeriesResponse getNetWorthSeries(LocalDate from, LocalDate to, BalanceSeriesBucket bucket);
+
     // Recurring Expense operations
     RecurringExpenseResponse createRecurringExpense(CreateRecurringExpenseRequest request);
 
@@ -48,6 +58,12 @@ public interface IDomainService {
 
     BudgetListResponse getAllBudgets();
 
+    BudgetTotalsConsistencyResponse verifyBudgetTotals();
+
+    BudgetTotalsConsistencyResponse rebuildBudgetTotals();
+
+    BudgetTrendsResponse getBudgetTrends(int months);
+
     BudgetDetailResponse getBudgetDetails(UUID id);
 
     BudgetIncomeResponse addIncomeToBudget(UUID budgetId, CreateBudgetIncomeRequest request);
@@ -70,8 +86,11 @@ public interface IDomainService {
 
     void deleteBudget(UUID id);
 
-    // Budget locking operations (Story 24)
-    BudgetResponse lockBudget(UUID budgetId);
+    // Budget locking operations (Story 24); a null transfer strategy uses the configured default
+    BudgetResponse lockBudget(UUID budgetId, TransferStrategyMode transferStrategy);
+
+    // Transfers locking would plan, computed without writing; a null strategy uses the configured default
+    TransferPreviewResponse getTransferPreview(UUID budgetId, TransferStrategyMode transferStrategy);
 
     // Budget unlocking operations (Story 27)
     BudgetResponse unlockBudget(UUID budgetId);
@@ -98,4 +117,13 @@ public interface IDomainService {
     SavingsGoalResponse allocateToGoal(UUID id, AllocateRequest request);
 
     SavingsGoalResponse archiveSavingsGoal(UUID id, ArchiveRequest request);
+
+    // Entity tags for conditional GETs (If-None-Match); cheap to compute, without building the response
+    String getBankAccountsETag();
+
+    String getBudgetsETag();
+
+    String getSavingsGoalsETag();
+
+    String getTodoListETag(UUID budgetId);
 }
@@ -2,8 +2,11 @@ package org.example.axelnyman.main.domain.dtos;
 
 import org.example.axelnyman.main.domain.model.BalanceHistorySource;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,4 +33,93 @@ public class BalanceHistoryDtos {
             List<BalanceHistoryResponse> content,
             PageMetadata page
     ) {}
+
+    public record BalanceHistoryKeysetPageResponse(
+            List<BalanceHistoryResponse> content,
+            int size,
+            String nextCursor,
+            boolean hasMore
+    ) {}
+
+    public enum BalanceSeriesBucket {
+        DAY, WEEK, MONTH;
+
+        // PostgreSQL date_trunc field; buckets start on day boundaries, ISO Mondays or the 1st
+        public String unit() {
+            return name().toLowerCase();
+        }
+
+        public static BalanceSeriesBucket fromParam(String value) {
+            for (BalanceSeriesBucket bucket : values()) {
+                if (bucket.name().equalsIgnoreCase(value)) {
+                    return bucket;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported bucket: " + value);
+        }
+    }
+
+    // Balance at the end of the bucket starting on {@code date} (clipped to the series' {@code to})
+    public record BalanceSeriesPoint(
+            LocalDate date,
+            BigDecimal balance
+    ) {}
+
+    public record BalanceSeriesResponse(
+            UUID bankAccountId,
+            LocalDate from,
+            LocalDate to,
+            BalanceSeriesBucket bucket,
+            List<BalanceSeriesPoint> points
+    ) {}
+
+    public record NetWorthSeriesResponse(
+            LocalDate from,
+            LocalDate to,
+            BalanceSeriesBucket bucket,
+            List<BalanceSeriesPoint> points
+    ) {}
+
+    public enum BalanceHistoryExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        BalanceHistoryExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String fileExtension() {
+            return fileExtension;
+        }
+
+        public static BalanceHistoryExportFormat fromParam(String value) {
+            for (BalanceHistoryExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    // Deferred export body: validation has already happened, writing streams rows from the database
+    @FunctionalInterface
+    public interface BalanceHistoryExportWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // Decoded position of the last row of a keyset page; the next page starts strictly after it
+    public record BalanceHistoryCursor(
+            LocalDate changeDate,
+            LocalDateTime createdAt,
+            UUID id
+    ) {}
 }
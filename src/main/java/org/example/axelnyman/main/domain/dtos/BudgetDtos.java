@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.example.axelnyman.main.domain.model.BudgetStatus;
+import org.example.axelnyman.main.domain.model.TransferStrategyMode;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -40,6 +41,12 @@ public class BudgetDtos {
             BigDecimal balance
     ) {}
 
+    public record BudgetTotalsConsistencyResponse(
+            long budgetsChecked,
+            java.util.List<UUID> driftedBudgetIds,
+            boolean rebuilt
+    ) {}
+
     public record BudgetResponse(
             UUID id,
             Integer month,
@@ -54,6 +61,20 @@ public class BudgetDtos {
             java.util.List<BudgetResponse> budgets
     ) {}
 
+    // Totals of one locked month; savingsRate is savings / income (0 when there is no income)
+    public record MonthlyBudgetTrendResponse(
+            UUID budgetId,
+            Integer month,
+            Integer year,
+            BudgetTotalsResponse totals,
+            BigDecimal savingsRate
+    ) {}
+
+    // Locked months oldest first, at most the requested number
+    public record BudgetTrendsResponse(
+            java.util.List<MonthlyBudgetTrendResponse> months
+    ) {}
+
     public record CreateBudgetIncomeRequest(
             @NotBlank(message = "Name is required")
             String name,
@@ -228,4 +249,24 @@ public class BudgetDtos {
             java.util.List<BudgetDetailSavingsResponse> savings,
             BudgetTotalsResponse totals
     ) {}
+
+    // Read-only transfer preview: what locking would plan, without writing anything
+    public record AccountNetPositionResponse(
+            BankAccountSummarySimple bankAccount,
+            BigDecimal netAmount
+    ) {}
+
+    public record TransferPreviewItemResponse(
+            BankAccountSummarySimple fromAccount,
+            BankAccountSummarySimple toAccount,
+            BigDecimal amount
+    ) {}
+
+    public record TransferPreviewResponse(
+            UUID budgetId,
+            TransferStrategyMode transferStrategy,
+            BigDecimal balance,
+            java.util.List<AccountNetPositionResponse> accounts,
+            java.util.List<TransferPreviewItemResponse> transfers
+    ) {}
 }
@@ -4,6 +4,15 @@ import org.example.axelnyman.main.domain.dtos.BalanceHistoryDtos.*;
 import org.example.axelnyman.main.domain.model.BalanceHistory;
 import org.springframework.data.domain.Page;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 public final class BalanceHistoryExtensions {
 
     private BalanceHistoryExtensions() {
@@ -35,4 +44,77 @@ public final class BalanceHistoryExtensions {
                 )
         );
     }
+
+    /**
+     * Builds a keyset page from up to {@code size + 1} rows: the extra row only signals that
+     * another page exists and is not returned.
+     */
+    public static BalanceHistoryKeysetPageResponse toKeysetPageResponse(List<BalanceHistory> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<BalanceHistory> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? toCursor(pageRows.get(pageRows.size() - 1)) : null;
+
+        return new BalanceHistoryKeysetPageResponse(
+                pageRows.stream()
+                        .map(BalanceHistoryExtensions::toResponse)
+                        .toList(),
+                size,
+                nextCursor,
+                hasMore
+        );
+    }
+
+    public static List<BalanceSeriesPoint> toSeriesPoints(Map<LocalDate, BigDecimal> balancesByBucket) {
+        return balancesByBucket.entrySet().stream()
+                .map(entry -> new BalanceSeriesPoint(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public static final String CSV_HEADER = "id,changeDate,balance,changeAmount,source,budgetId,comment";
+
+    public static String toCsvRow(BalanceHistory balanceHistory) {
+        return String.join(",",
+                balanceHistory.getId().toString(),
+                balanceHistory.getChangeDate().toString(),
+                balanceHistory.getBalance().toPlainString(),
+                balanceHistory.getChangeAmount().toPlainString(),
+                balanceHistory.getSource().name(),
+                balanceHistory.getBudgetId() != null ? balanceHistory.getBudgetId().toString() : "",
+                escapeCsv(balanceHistory.getComment())
+        );
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks; double embedded quotes
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // Opaque to clients: URL-safe base64 of "changeDate|createdAt|id"
+    public static String toCursor(BalanceHistory balanceHistory) {
+        String raw = balanceHistory.getChangeDate() + "|" + balanceHistory.getCreatedAt() + "|" + balanceHistory.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BalanceHistoryCursor parseCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new BalanceHistoryCursor(
+                    LocalDate.parse(parts[0]),
+                    LocalDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2])
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
 }
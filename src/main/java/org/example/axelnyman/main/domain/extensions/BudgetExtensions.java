@@ -4,6 +4,7 @@ import org.example.axelnyman.main.domain.dtos.BudgetDtos.*;
 import org.example.axelnyman.main.domain.model.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 
 public final class BudgetExtensions {
@@ -13,12 +14,7 @@ public final class BudgetExtensions {
     }
 
     public static BudgetResponse toResponse(Budget budget) {
-        BudgetTotalsResponse totals = new BudgetTotalsResponse(
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO,
-                BigDecimal.ZERO
-        );
+        BudgetTotalsResponse totals = emptyTotalsResponse();
 
         return new BudgetResponse(
                 budget.getId(),
@@ -43,6 +39,55 @@ public final class BudgetExtensions {
         );
     }
 
+    public static MonthlyBudgetTrendResponse toTrendResponse(MonthlyBudgetSummary summary) {
+        BigDecimal income = summary.getTotalIncome();
+        BigDecimal savingsRate = income.signum() > 0
+                ? summary.getTotalSavings().divide(income, 4, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return new MonthlyBudgetTrendResponse(
+                summary.getBudgetId(),
+                summary.getMonth(),
+                summary.getYear(),
+                toTotalsResponse(income, summary.getTotalExpenses(), summary.getTotalSavings()),
+                savingsRate
+        );
+    }
+
+    public static BudgetTotalsResponse emptyTotalsResponse() {
+        return new BudgetTotalsResponse(
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO
+        );
+    }
+
+    public static BudgetTotalsResponse toTotalsResponse(BudgetTotals totals) {
+        return toTotalsResponse(totals.getTotalIncome(), totals.getTotalExpenses(), totals.getTotalSavings());
+    }
+
+    /**
+     * Builds the totals DTO from summed amounts. A zero total is reported as a plain
+     * {@code 0} (as SUM over no rows yields) rather than the stored {@code 0.00}.
+     */
+    public static BudgetTotalsResponse toTotalsResponse(BigDecimal income, BigDecimal expenses, BigDecimal savings) {
+        BigDecimal totalIncome = normalizeZero(income);
+        BigDecimal totalExpenses = normalizeZero(expenses);
+        BigDecimal totalSavings = normalizeZero(savings);
+
+        return new BudgetTotalsResponse(
+                totalIncome,
+                totalExpenses,
+                totalSavings,
+                totalIncome.subtract(totalExpenses).subtract(totalSavings)
+        );
+    }
+
+    private static BigDecimal normalizeZero(BigDecimal amount) {
+        return amount.signum() == 0 ? BigDecimal.ZERO : amount;
+    }
+
     public static Budget toEntity(CreateBudgetRequest request) {
         return new Budget(request.month(), request.year());
     }
@@ -55,6 +100,24 @@ public final class BudgetExtensions {
         );
     }
 
+    // Transfer preview mappings
+    public static AccountNetPositionResponse toNetPositionResponse(AccountNetPosition position, BankAccount bankAccount) {
+        return new AccountNetPositionResponse(
+                toBankAccountSummarySimple(bankAccount),
+                position.getNetAmount()
+        );
+    }
+
+    public static TransferPreviewItemResponse toTransferPreviewItemResponse(TransferPlan transfer,
+                                                                            BankAccount fromAccount,
+                                                                            BankAccount toAccount) {
+        return new TransferPreviewItemResponse(
+                toBankAccountSummarySimple(fromAccount),
+                toBankAccountSummarySimple(toAccount),
+                transfer.getAmount()
+        );
+    }
+
     public static BudgetDetailIncomeResponse toDetailIncomeResponse(BudgetIncome income) {
         return new BudgetDetailIncomeResponse(
                 income.getId(),
@@ -49,6 +49,15 @@ public final class SavingsGoalExtensions {
                 goal.getUpdatedAt());
     }
 
+    /**
+     * Assembles a goal response from allocations pre-loaded for many goals at once
+     * (grouped by goal id); a goal missing from the map has no allocations.
+     */
+    public static SavingsGoalResponse toResponse(SavingsGoal goal, Map<UUID, List<GoalAllocation>> allocationsByGoal,
+                                                 Map<UUID, String> accountNames) {
+        return toResponse(goal, allocationsByGoal.getOrDefault(goal.getId(), List.of()), accountNames);
+    }
+
     public static GoalAllocationChangeResponse toResponse(GoalAllocationChange change,
                                                           Map<UUID, String> accountNames) {
         return new GoalAllocationChangeResponse(
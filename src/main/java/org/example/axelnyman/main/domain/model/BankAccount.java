@@ -38,6 +38,11 @@ public final class BankAccount {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // Optimistic lock: concurrent read-modify-writes of the balance fail instead of losing an update
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Default constructor
     public BankAccount() {
     }
@@ -105,4 +110,12 @@ public final class BankAccount {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
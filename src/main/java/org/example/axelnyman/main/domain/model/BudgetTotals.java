@@ -0,0 +1,58 @@
+package org.example.axelnyman.main.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Materialized income, expense and savings totals for one budget.
+ * Rows are written only through atomic delta upserts (and the rebuild query)
+ * in {@code BudgetTotalsRepository}, never through entity updates. A budget
+ * without a row has no line items.
+ */
+@Entity
+@Immutable
+@Table(name = "budget_totals")
+public final class BudgetTotals {
+
+    @Id
+    private UUID budgetId;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalExpenses;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSavings;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BudgetTotals() {
+    }
+
+    public UUID getBudgetId() {
+        return budgetId;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public BigDecimal getTotalSavings() {
+        return totalSavings;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.axelnyman.main.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a mutating request sent with an {@code Idempotency-Key} header.
+ * Reserved with no response while the request runs, completed with its response after.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public final class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column
+    private Integer responseStatus;
+
+    @Column
+    private String responseContentType;
+
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime reservedAt;
+
+    public IdempotencyKey() {
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
+    public String getResponseContentType() {
+        return responseContentType;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getReservedAt() {
+        return reservedAt;
+    }
+
+    // A reserved key has no response until its request completes
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+}
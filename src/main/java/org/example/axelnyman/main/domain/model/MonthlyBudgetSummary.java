@@ -0,0 +1,79 @@
+package org.example.axelnyman.main.domain.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Totals of one locked budget, captured when it is locked and removed when it is
+ * unlocked. Backs the budget trends view so it never aggregates line items.
+ */
+@Entity
+@Table(name = "monthly_budget_summary")
+public final class MonthlyBudgetSummary {
+
+    @Id
+    private UUID budgetId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalExpenses;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalSavings;
+
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    public MonthlyBudgetSummary() {
+    }
+
+    public MonthlyBudgetSummary(UUID budgetId, Integer year, Integer month, BigDecimal totalIncome,
+                                BigDecimal totalExpenses, BigDecimal totalSavings, LocalDateTime lockedAt) {
+        this.budgetId = budgetId;
+        this.year = year;
+        this.month = month;
+        this.totalIncome = totalIncome;
+        this.totalExpenses = totalExpenses;
+        this.totalSavings = totalSavings;
+        this.lockedAt = lockedAt;
+    }
+
+    public UUID getBudgetId() {
+        return budgetId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public BigDecimal getTotalSavings() {
+        return totalSavings;
+    }
+
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+}
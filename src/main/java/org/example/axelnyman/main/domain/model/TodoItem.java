@@ -2,6 +2,7 @@ package org.example.axelnyman.main.domain.model;
 
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
@@ -51,6 +52,10 @@ public final class TodoItem {
     @Column
     private LocalDateTime completedAt;
 
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "todoListId", insertable = false, updatable = false)
     private TodoList todoList;
@@ -172,6 +177,14 @@ public final class TodoItem {
         this.completedAt = completedAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public TodoList getTodoList() {
         return todoList;
     }
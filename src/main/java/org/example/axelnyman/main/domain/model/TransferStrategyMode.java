@@ -0,0 +1,15 @@
+package org.example.axelnyman.main.domain.model;
+
+// Transfer plan used when locking: GREEDY is the classic largest-first match, MINIMAL searches for fewer transfers
+public enum TransferStrategyMode {
+    GREEDY, MINIMAL;
+
+    public static TransferStrategyMode fromParam(String value) {
+        for (TransferStrategyMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported transfer strategy: " + value);
+    }
+}
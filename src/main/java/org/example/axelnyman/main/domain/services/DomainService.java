@@ -1,5 +1,9 @@
 package org.example.axelnyman.main.domain.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.example.axelnyman.main.domain.abstracts.IDataService;
 import org.example.axelnyman.main.domain.abstracts.IDomainService;
 import org.example.axelnyman.main.domain.dtos.BalanceHistoryDtos.*;
@@ -17,6 +21,7 @@ import org.example.axelnyman.main.domain.extensions.BudgetSavingsExtensions;
 import org.example.axelnyman.main.domain.extensions.RecurringExpenseExtensions;
 import org.example.axelnyman.main.domain.extensions.SavingsGoalExtensions;
 import org.example.axelnyman.main.domain.extensions.TodoExtensions;
+import org.example.axelnyman.main.domain.model.AccountNetPosition;
 import org.example.axelnyman.main.domain.model.BalanceHistory;
 import org.example.axelnyman.main.domain.model.BalanceHistorySource;
 import org.example.axelnyman.main.domain.model.BankAccount;
@@ -25,6 +30,7 @@ import org.example.axelnyman.main.domain.model.GoalAllocation;
 import org.example.axelnyman.main.domain.model.GoalAllocationChange;
 import org.example.axelnyman.main.domain.model.GoalAllocationChangeSource;
 import org.example.axelnyman.main.domain.model.GoalStatus;
+import org.example.axelnyman.main.domain.model.MonthlyBudgetSummary;
 import org.example.axelnyman.main.domain.model.SavingsGoal;
 import org.example.axelnyman.main.domain.model.BudgetExpense;
 import org.example.axelnyman.main.domain.model.BudgetIncome;
@@ -36,12 +42,15 @@ import org.example.axelnyman.main.domain.model.TodoItemStatus;
 import org.example.axelnyman.main.domain.model.TodoItemType;
 import org.example.axelnyman.main.domain.model.TodoList;
 import org.example.axelnyman.main.domain.model.TransferPlan;
+import org.example.axelnyman.main.domain.model.TransferStrategyMode;
 import org.example.axelnyman.main.domain.utils.TransferCalculationUtils;
+import org.example.axelnyman.main.domain.utils.TransferStrategy;
 import org.example.axelnyman.main.shared.exceptions.AccountLinkedToBudgetException;
 import org.example.axelnyman.main.shared.exceptions.AllocationReallocationRequiredException;
 import org.example.axelnyman.main.shared.exceptions.BackdatedBalanceUpdateException;
 import org.example.axelnyman.main.shared.exceptions.BankAccountNotFoundException;
 import org.example.axelnyman.main.shared.exceptions.BudgetAlreadyLockedException;
+import org.example.axelnyman.main.shared.exceptions.BudgetLifecycleBusyException;
 import org.example.axelnyman.main.shared.exceptions.BudgetLockedException;
 import org.example.axelnyman.main.shared.exceptions.DateBeforeAccountCreationException;
 import org.example.axelnyman.main.shared.exceptions.BudgetNotBalancedException;
@@ -59,32 +68,76 @@ import org.example.axelnyman.main.shared.exceptions.SavingsGoalNotFoundException
 import org.example.axelnyman.main.shared.exceptions.TodoItemNotFoundException;
 import org.example.axelnyman.main.shared.exceptions.TodoListNotFoundException;
 import org.example.axelnyman.main.shared.exceptions.UnlockedBudgetExistsException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+// One timer per public operation, tagged class/method/exception
+@Timed(value = "domain.service", description = "Time per IDomainService operation",
+        percentiles = {0.5, 0.95, 0.99})
 @Service
 public class DomainService implements IDomainService {
 
     private record DueDate(int month, int year) {}
 
-    private final IDataService dataService;
+    private static final int MAX_KEYSET_PAGE_SIZE = 100;
+
+    private static final int MAX_SERIES_POINTS = 1000;
+
+    private static final int MAX_TREND_MONTHS = 120;
+    private static final int MAX_CONFLICT_ATTEMPTS = 3;
 
-    public DomainService(IDataService dataService) {
+    private final IDataService dataService;
+    private final ObjectMapper objectMapper;
+    private final LockedBudgetDetailCache lockedBudgetDetailCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransferStrategies transferStrategies;
+
+    public DomainService(IDataService dataService, ObjectMapper objectMapper,
+                         LockedBudgetDetailCache lockedBudgetDetailCache,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         TransferStrategies transferStrategies) {
         this.dataService = dataService;
+        this.objectMapper = objectMapper;
+        this.lockedBudgetDetailCache = lockedBudgetDetailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.transferStrategies = transferStrategies;
     }
 
     @Override
@@ -130,8 +183,12 @@ public class DomainService implements IDomainService {
     }
 
     @Override
-    @Transactional
     public BankAccountResponse updateBankAccountDetails(UUID id, UpdateBankAccountRequest request) {
+        // Sets name/description outright, so re-running after a concurrent balance change is safe
+        return retryOnConflict(() -> applyBankAccountDetails(id, request));
+    }
+
+    private BankAccountResponse applyBankAccountDetails(UUID id, UpdateBankAccountRequest request) {
         // Get bank account by ID
         BankAccount account = dataService.getBankAccountById(id)
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + id));
@@ -148,6 +205,11 @@ public class DomainService implements IDomainService {
             }
         }
 
+        // Locked budget details embed account names
+        if (!account.getName().equals(request.name())) {
+            lockedBudgetDetailCache.evictAll();
+        }
+
         // Update fields (balance is NOT updated)
         account.setName(request.name());
         account.setDescription(request.description());
@@ -195,7 +257,15 @@ public class DomainService implements IDomainService {
         // Reconcile the change against any savings-goal earmarks on this account
         // (item 070d). All allocation writes and the balance write happen in this
         // single transaction, so a rejected reallocation leaves nothing changed.
-        List<GoalAllocation> allocations = dataService.getGoalAllocationsByBankAccountId(id);
+        // Allocations arrive with their goal names ([GoalAllocation, goalName]) so the
+        // reconciliation below never looks a goal up per allocation
+        List<GoalAllocation> allocations = new ArrayList<>();
+        Map<UUID, String> goalNames = new HashMap<>();
+        for (Object[] row : dataService.getGoalAllocationsWithGoalNameByBankAccountId(id)) {
+            GoalAllocation allocation = (GoalAllocation) row[0];
+            allocations.add(allocation);
+            goalNames.put(allocation.getSavingsGoalId(), (String) row[1]);
+        }
         List<AllocationAdjustment> adjustments;
 
         if (changeAmount.signum() >= 0) {
@@ -210,7 +280,7 @@ public class DomainService implements IDomainService {
             // Decrease: reconcile allocations before lowering the balance, so each
             // reduction is checked against the still-valid higher balance and the
             // account is never transiently over-allocated.
-            adjustments = reconcileDeficit(account, allocations, request);
+            adjustments = reconcileDeficit(account, allocations, goalNames, request);
             persistBalanceChange(account, request, changeAmount);
         }
 
@@ -246,7 +316,7 @@ public class DomainService implements IDomainService {
      * allocation below zero.
      */
     private List<AllocationAdjustment> reconcileDeficit(BankAccount account,
-            List<GoalAllocation> allocations, UpdateBalanceRequest request) {
+            List<GoalAllocation> allocations, Map<UUID, String> goalNames, UpdateBalanceRequest request) {
         if (allocations.isEmpty()) {
             if (hasReallocation(request)) {
                 throw new IllegalArgumentException("Reallocation references goals that do not back this account");
@@ -266,22 +336,22 @@ public class DomainService implements IDomainService {
         }
 
         if (hasReallocation(request)) {
-            return applyDeficitSplit(account, allocations, deficit, request.reallocation());
+            return applyDeficitSplit(account, allocations, goalNames, deficit, request.reallocation());
         }
 
         if (allocations.size() == 1) {
             // Cap the reduction at the allocation amount so it never goes below zero
             // (a negative new balance would otherwise produce a deficit > allocation).
             GoalAllocation only = allocations.get(0);
-            return List.of(reduceAllocation(account, only, deficit.min(only.getAmount())));
+            return List.of(reduceAllocation(account, only, goalNames, deficit.min(only.getAmount())));
         }
 
         throw new AllocationReallocationRequiredException(
-                buildConflict(account, request.newBalance(), totalAllocated, deficit, allocations));
+                buildConflict(account, request.newBalance(), totalAllocated, deficit, allocations, goalNames));
     }
 
     private List<AllocationAdjustment> applyDeficitSplit(BankAccount account, List<GoalAllocation> allocations,
-            BigDecimal deficit, List<ReallocationEntry> entries) {
+            Map<UUID, String> goalNames, BigDecimal deficit, List<ReallocationEntry> entries) {
         requireNoDuplicates(entries);
         Map<UUID, GoalAllocation> byGoal = allocations.stream()
                 .collect(Collectors.toMap(GoalAllocation::getSavingsGoalId, a -> a));
@@ -312,7 +382,8 @@ public class DomainService implements IDomainService {
             if (entry.changeBy().signum() == 0) {
                 continue;
             }
-            adjustments.add(reduceAllocation(account, byGoal.get(entry.savingsGoalId()), entry.changeBy().negate()));
+            adjustments.add(reduceAllocation(account, byGoal.get(entry.savingsGoalId()), goalNames,
+                    entry.changeBy().negate()));
         }
         return adjustments;
     }
@@ -355,19 +426,21 @@ public class DomainService implements IDomainService {
         return adjustments;
     }
 
-    private AllocationAdjustment reduceAllocation(BankAccount account, GoalAllocation allocation, BigDecimal reduceBy) {
+    private AllocationAdjustment reduceAllocation(BankAccount account, GoalAllocation allocation,
+            Map<UUID, String> goalNames, BigDecimal reduceBy) {
         BigDecimal resulting = allocation.getAmount().subtract(reduceBy);
         applyAllocation(allocation.getSavingsGoalId(), account, resulting,
                 GoalAllocationChangeSource.BALANCE_REALLOCATION);
-        return new AllocationAdjustment(allocation.getSavingsGoalId(), goalName(allocation.getSavingsGoalId()),
+        return new AllocationAdjustment(allocation.getSavingsGoalId(), goalNames.get(allocation.getSavingsGoalId()),
                 reduceBy.negate(), resulting);
     }
 
     private ReallocationConflictResponse buildConflict(BankAccount account, BigDecimal newBalance,
-            BigDecimal totalAllocated, BigDecimal deficit, List<GoalAllocation> allocations) {
+            BigDecimal totalAllocated, BigDecimal deficit, List<GoalAllocation> allocations,
+            Map<UUID, String> goalNames) {
         List<ReallocationConflictGoal> goals = allocations.stream()
                 .map(a -> new ReallocationConflictGoal(
-                        a.getSavingsGoalId(), goalName(a.getSavingsGoalId()), a.getAmount()))
+                        a.getSavingsGoalId(), goalNames.get(a.getSavingsGoalId()), a.getAmount()))
                 .toList();
         return new ReallocationConflictResponse(
                 "Balance decrease leaves the account over-allocated across multiple goals; a split is required",
@@ -381,13 +454,15 @@ public class DomainService implements IDomainService {
         }
     }
 
-    private String goalName(UUID goalId) {
-        return dataService.getSavingsGoalById(goalId).map(SavingsGoal::getName).orElse(null);
-    }
-
     @Override
-    @Transactional
     public void deleteBankAccount(UUID id) {
+        retryOnConflict(() -> {
+            softDeleteBankAccount(id);
+            return null;
+        });
+    }
+
+    private void softDeleteBankAccount(UUID id) {
         // Check if account exists and is not already deleted
         BankAccount account = dataService.getBankAccountById(id)
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + id));
@@ -409,7 +484,7 @@ public class DomainService implements IDomainService {
     @Override
     public BalanceHistoryPageResponse getBalanceHistory(UUID bankAccountId, int page, int size) {
         // Validate bank account exists and is not deleted
-        BankAccount account = dataService.getBankAccountById(bankAccountId)
+        BankAccount account = dataService.getBankAccountSnapshotById(bankAccountId)
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId));
 
         if (account.getDeletedAt() != null) {
@@ -426,6 +501,119 @@ public class DomainService implements IDomainService {
         return BalanceHistoryExtensions.toPageResponse(historyPage);
     }
 
+    @Override
+    public BalanceHistoryKeysetPageResponse getBalanceHistoryKeyset(UUID bankAccountId, String cursor, int size) {
+        if (size < 1 || size > MAX_KEYSET_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_KEYSET_PAGE_SIZE);
+        }
+
+        // Validate bank account exists and is not deleted
+        BankAccount account = dataService.getBankAccountSnapshotById(bankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId));
+
+        if (account.getDeletedAt() != null) {
+            throw new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId);
+        }
+
+        // Fetch one extra row to learn whether another page exists without counting
+        List<BalanceHistory> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = dataService.getBalanceHistoryKeysetPage(bankAccountId, null, null, null, size + 1);
+        } else {
+            BalanceHistoryCursor after = BalanceHistoryExtensions.parseCursor(cursor);
+            rows = dataService.getBalanceHistoryKeysetPage(
+                    bankAccountId, after.changeDate(), after.createdAt(), after.id(), size + 1);
+        }
+
+        return BalanceHistoryExtensions.toKeysetPageResponse(rows, size);
+    }
+
+    @Override
+    public BalanceSeriesResponse getBalanceSeries(UUID bankAccountId, LocalDate from, LocalDate to,
+                                                  BalanceSeriesBucket bucket) {
+        // Validate bank account exists and is not deleted
+        BankAccount account = dataService.getBankAccountSnapshotById(bankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId));
+
+        if (account.getDeletedAt() != null) {
+            throw new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId);
+        }
+
+        validateSeriesRange(from, to, bucket);
+
+        return new BalanceSeriesResponse(
+                bankAccountId,
+                from,
+                to,
+                bucket,
+                BalanceHistoryExtensions.toSeriesPoints(
+                        dataService.getBalanceSeries(bankAccountId, from, to, bucket.unit()))
+        );
+    }
+
+    @Override
+    public NetWorthSeriesResponse getNetWorthSeries(LocalDate from, LocalDate to, BalanceSeriesBucket bucket) {
+        validateSeriesRange(from, to, bucket);
+
+        return new NetWorthSeriesResponse(
+                from,
+                to,
+                bucket,
+                BalanceHistoryExtensions.toSeriesPoints(dataService.getNetWorthSeries(from, to, bucket.unit()))
+        );
+    }
+
+    private void validateSeriesRange(LocalDate from, LocalDate to, BalanceSeriesBucket bucket) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        long points = switch (bucket) {
+            case DAY -> ChronoUnit.DAYS.between(from, to) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(from, to) + 2;
+            case MONTH -> ChronoUnit.MONTHS.between(from.withDayOfMonth(1), to.withDayOfMonth(1)) + 1;
+        };
+        if (points > MAX_SERIES_POINTS) {
+            throw new IllegalArgumentException("Range too large: at most " + MAX_SERIES_POINTS + " points per series");
+        }
+    }
+
+    @Override
+    public BalanceHistoryExportWriter exportBalanceHistory(UUID bankAccountId, BalanceHistoryExportFormat format) {
+        // Validate eagerly so a missing account is a 404, not a failure halfway through the stream
+        BankAccount account = dataService.getBankAccountSnapshotById(bankAccountId)
+                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId));
+
+        if (account.getDeletedAt() != null) {
+            throw new BankAccountNotFoundException("Bank account not found with id: " + bankAccountId);
+        }
+
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == BalanceHistoryExportFormat.CSV) {
+                writer.write(BalanceHistoryExtensions.CSV_HEADER);
+                writer.write('\n');
+            }
+            try {
+                dataService.streamBalanceHistory(bankAccountId, row -> {
+                    try {
+                        if (format == BalanceHistoryExportFormat.CSV) {
+                            writer.write(BalanceHistoryExtensions.toCsvRow(row));
+                        } else {
+                            writer.write(objectMapper.writeValueAsString(BalanceHistoryExtensions.toResponse(row)));
+                        }
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
     @Override
     @Transactional
     public RecurringExpenseResponse createRecurringExpense(CreateRecurringExpenseRequest request) {
@@ -437,7 +625,7 @@ public class DomainService implements IDomainService {
         // Resolve bank account if provided
         BankAccount bankAccount = null;
         if (request.bankAccountId() != null) {
-            bankAccount = dataService.getBankAccountById(request.bankAccountId())
+            bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                     .orElseThrow(() -> new BankAccountNotFoundException(
                             "Bank account not found with id: " + request.bankAccountId()));
             if (bankAccount.getDeletedAt() != null) {
@@ -488,7 +676,7 @@ public class DomainService implements IDomainService {
         // Validate and resolve bank account if provided
         BankAccount bankAccount = null;
         if (request.bankAccountId() != null) {
-            bankAccount = dataService.getBankAccountById(request.bankAccountId())
+            bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                     .orElseThrow(() -> new BankAccountNotFoundException(
                             "Bank account not found with id: " + request.bankAccountId()));
             if (bankAccount.getDeletedAt() != null) {
@@ -515,12 +703,21 @@ public class DomainService implements IDomainService {
         // Fetch all active recurring expenses
         List<RecurringExpense> expenses = dataService.getAllActiveRecurringExpenses();
 
+        // Resolve every referenced account in one lookup instead of one per row
+        Map<UUID, BankAccount> accountsById = resolveBankAccounts(expenses.stream()
+                .map(RecurringExpense::getBankAccountId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
         // Map to list item responses with due date calculation
         List<RecurringExpenseListItemResponse> expenseResponses = expenses.stream()
                 .map(expense -> {
                     DueDate dueDate = calculateNextDueDate(expense);
                     String dueDisplay = formatDueDisplay(dueDate);
-                    BankAccount bankAccount = resolveBankAccount(expense.getBankAccountId());
+                    BankAccount bankAccount = expense.getBankAccountId() != null
+                            ? accountsById.get(expense.getBankAccountId())
+                            : null;
 
                     return RecurringExpenseExtensions.toListItemResponse(
                             expense, bankAccount,
@@ -550,11 +747,21 @@ public class DomainService implements IDomainService {
         if (bankAccountId == null) {
             return null;
         }
-        return dataService.getBankAccountById(bankAccountId)
+        return dataService.getBankAccountSnapshotById(bankAccountId)
                 .filter(account -> account.getDeletedAt() == null)
                 .orElse(null);
     }
 
+    // Batch variant of resolveBankAccount: soft-deleted accounts are left out of the map
+    private Map<UUID, BankAccount> resolveBankAccounts(List<UUID> bankAccountIds) {
+        if (bankAccountIds.isEmpty()) {
+            return Map.of();
+        }
+        return dataService.getBankAccountSnapshotsByIds(bankAccountIds).stream()
+                .filter(account -> account.getDeletedAt() == null)
+                .collect(Collectors.toMap(BankAccount::getId, Function.identity()));
+    }
+
     private DueDate calculateNextDueDate(RecurringExpense expense) {
         Integer lastMonth = expense.getLastUsedMonth();
         Integer lastYear = expense.getLastUsedYear();
@@ -642,49 +849,77 @@ public class DomainService implements IDomainService {
         budget.setYear(request.year());
         Budget savedBudget = dataService.saveBudget(budget);
 
-        BigDecimal totalIncome = dataService.calculateTotalIncome(id);
-        BigDecimal totalExpenses = dataService.calculateTotalExpenses(id);
-        BigDecimal totalSavings = dataService.calculateTotalSavings(id);
-        BudgetTotalsResponse totals = new BudgetTotalsResponse(
-                totalIncome,
-                totalExpenses,
-                totalSavings,
-                totalIncome.subtract(totalExpenses).subtract(totalSavings)
-        );
-
-        return BudgetExtensions.toResponse(savedBudget, totals);
+        return BudgetExtensions.toResponse(savedBudget, getBudgetTotals(id));
     }
 
     @Override
     public BudgetListResponse getAllBudgets() {
-        List<Budget> budgets = dataService.getAllBudgetsSorted();
-
-        List<BudgetResponse> budgetResponses = budgets.stream()
-                .map(budget -> {
-                    BigDecimal totalIncome = dataService.calculateTotalIncome(budget.getId());
-                    BigDecimal totalExpenses = dataService.calculateTotalExpenses(budget.getId());
-                    BigDecimal totalSavings = dataService.calculateTotalSavings(budget.getId());
-                    BigDecimal balance = totalIncome.subtract(totalExpenses).subtract(totalSavings);
-
-                    BudgetTotalsResponse totals = new BudgetTotalsResponse(
-                            totalIncome,
-                            totalExpenses,
-                            totalSavings,
-                            balance
-                    );
-
-                    return BudgetExtensions.toResponse(budget, totals);
-                })
+        // Budgets and their materialized totals come back in one query: [Budget, income, expenses, savings]
+        List<BudgetResponse> budgetResponses = dataService.getAllBudgetsWithTotalsSorted().stream()
+                .map(row -> BudgetExtensions.toResponse(
+                        (Budget) row[0],
+                        BudgetExtensions.toTotalsResponse((BigDecimal) row[1], (BigDecimal) row[2], (BigDecimal) row[3])))
                 .toList();
 
         return new BudgetListResponse(budgetResponses);
     }
 
+    // Reads the materialized totals row; a budget without one has no line items
+    private BudgetTotalsResponse getBudgetTotals(UUID budgetId) {
+        return dataService.getBudgetTotals(budgetId)
+                .map(BudgetExtensions::toTotalsResponse)
+                .orElseGet(BudgetExtensions::emptyTotalsResponse);
+    }
+
+    @Override
+    public BudgetTotalsConsistencyResponse verifyBudgetTotals() {
+        return new BudgetTotalsConsistencyResponse(
+                dataService.countBudgets(),
+                dataService.getBudgetIdsWithDriftedTotals(),
+                false
+        );
+    }
+
+    @Override
+    @Transactional
+    public BudgetTotalsConsistencyResponse rebuildBudgetTotals() {
+        // Report what was drifted before overwriting the projection from the line items
+        List<UUID> driftedBudgetIds = dataService.getBudgetIdsWithDriftedTotals();
+        dataService.rebuildBudgetTotals();
+
+        return new BudgetTotalsConsistencyResponse(dataService.countBudgets(), driftedBudgetIds, true);
+    }
+
+    @Override
+    public BudgetTrendsResponse getBudgetTrends(int months) {
+        if (months < 1 || months > MAX_TREND_MONTHS) {
+            throw new IllegalArgumentException("Months must be between 1 and " + MAX_TREND_MONTHS);
+        }
+
+        // Read newest first so the limit keeps the latest months, then present oldest first
+        List<MonthlyBudgetTrendResponse> trends = new ArrayList<>(
+                dataService.getRecentMonthlyBudgetSummaries(months).stream()
+                        .map(BudgetExtensions::toTrendResponse)
+                        .toList());
+        Collections.reverse(trends);
+
+        return new BudgetTrendsResponse(trends);
+    }
+
     @Override
     public BudgetDetailResponse getBudgetDetails(UUID id) {
         Budget budget = dataService.getBudgetById(id)
                 .orElseThrow(() -> new BudgetNotFoundException("Budget not found with id: " + id));
 
+        // Locked line items cannot change, so their detail is built once per lock
+        if (budget.getStatus() == BudgetStatus.LOCKED) {
+            return lockedBudgetDetailCache.get(id, budget.getLockedAt(), () -> buildBudgetDetails(budget));
+        }
+        return buildBudgetDetails(budget);
+    }
+
+    private BudgetDetailResponse buildBudgetDetails(Budget budget) {
+        UUID id = budget.getId();
         List<BudgetIncome> incomeList = dataService.getBudgetIncomeByBudgetId(id);
         List<BudgetExpense> expensesList = dataService.getBudgetExpensesByBudgetId(id);
         List<BudgetSavings> savingsList = dataService.getBudgetSavingsByBudgetId(id);
@@ -705,7 +940,7 @@ public class DomainService implements IDomainService {
         }
 
         // Get bank account and verify it exists and is not deleted
-        BankAccount bankAccount = dataService.getBankAccountById(request.bankAccountId())
+        BankAccount bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + request.bankAccountId()));
 
         if (bankAccount.getDeletedAt() != null) {
@@ -715,6 +950,7 @@ public class DomainService implements IDomainService {
         // Create and save budget income
         BudgetIncome budgetIncome = BudgetIncomeExtensions.toEntity(request, budgetId);
         BudgetIncome savedIncome = dataService.saveBudgetIncome(budgetIncome);
+        dataService.adjustBudgetTotals(budgetId, savedIncome.getAmount(), BigDecimal.ZERO, BigDecimal.ZERO);
 
         return BudgetIncomeExtensions.toResponse(savedIncome, bankAccount);
     }
@@ -742,7 +978,7 @@ public class DomainService implements IDomainService {
         }
 
         // Get bank account and verify it exists and is not deleted
-        BankAccount bankAccount = dataService.getBankAccountById(request.bankAccountId())
+        BankAccount bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + request.bankAccountId()));
 
         if (bankAccount.getDeletedAt() != null) {
@@ -750,12 +986,15 @@ public class DomainService implements IDomainService {
         }
 
         // Update fields
+        BigDecimal previousAmount = income.getAmount();
         income.setName(request.name());
         income.setAmount(request.amount());
         income.setBankAccountId(request.bankAccountId());
 
         // Save (updatedAt will be auto-updated by JPA auditing)
         BudgetIncome updatedIncome = dataService.saveBudgetIncome(income);
+        dataService.adjustBudgetTotals(budgetId,
+                updatedIncome.getAmount().subtract(previousAmount), BigDecimal.ZERO, BigDecimal.ZERO);
 
         return BudgetIncomeExtensions.toResponse(updatedIncome, bankAccount);
     }
@@ -784,6 +1023,7 @@ public class DomainService implements IDomainService {
 
         // Perform hard delete
         dataService.deleteBudgetIncome(id);
+        dataService.adjustBudgetTotals(budgetId, income.getAmount().negate(), BigDecimal.ZERO, BigDecimal.ZERO);
     }
 
     @Override
@@ -799,7 +1039,7 @@ public class DomainService implements IDomainService {
         }
 
         // Get bank account and verify it exists and is not deleted
-        BankAccount bankAccount = dataService.getBankAccountById(request.bankAccountId())
+        BankAccount bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + request.bankAccountId()));
 
         if (bankAccount.getDeletedAt() != null) {
@@ -816,6 +1056,7 @@ public class DomainService implements IDomainService {
         // Create and save budget expense
         BudgetExpense budgetExpense = BudgetExpenseExtensions.toEntity(request, budgetId);
         BudgetExpense savedExpense = dataService.saveBudgetExpense(budgetExpense);
+        dataService.adjustBudgetTotals(budgetId, BigDecimal.ZERO, savedExpense.getAmount(), BigDecimal.ZERO);
 
         return BudgetExpenseExtensions.toResponse(savedExpense, bankAccount);
     }
@@ -843,7 +1084,7 @@ public class DomainService implements IDomainService {
         }
 
         // Get bank account and verify it exists and is not deleted
-        BankAccount bankAccount = dataService.getBankAccountById(request.bankAccountId())
+        BankAccount bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + request.bankAccountId()));
 
         if (bankAccount.getDeletedAt() != null) {
@@ -851,6 +1092,7 @@ public class DomainService implements IDomainService {
         }
 
         // Update fields
+        BigDecimal previousAmount = expense.getAmount();
         expense.setName(request.name());
         expense.setAmount(request.amount());
         expense.setBankAccountId(request.bankAccountId());
@@ -859,6 +1101,8 @@ public class DomainService implements IDomainService {
 
         // Save (updatedAt will be auto-updated by JPA auditing)
         BudgetExpense updatedExpense = dataService.saveBudgetExpense(expense);
+        dataService.adjustBudgetTotals(budgetId,
+                BigDecimal.ZERO, updatedExpense.getAmount().subtract(previousAmount), BigDecimal.ZERO);
 
         return BudgetExpenseExtensions.toResponse(updatedExpense, bankAccount);
     }
@@ -887,6 +1131,7 @@ public class DomainService implements IDomainService {
 
         // Perform hard delete
         dataService.deleteBudgetExpense(id);
+        dataService.adjustBudgetTotals(budgetId, BigDecimal.ZERO, expense.getAmount().negate(), BigDecimal.ZERO);
     }
 
     @Override
@@ -902,7 +1147,7 @@ public class DomainService implements IDomainService {
         }
 
         // Get bank account and verify it exists and is not deleted
-        BankAccount bankAccount = dataService.getBankAccountById(request.bankAccountId())
+        BankAccount bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + request.bankAccountId()));
 
         if (bankAccount.getDeletedAt() != null) {
@@ -915,6 +1160,7 @@ public class DomainService implements IDomainService {
         // Create and save budget savings
         BudgetSavings budgetSavings = BudgetSavingsExtensions.toEntity(request, budgetId);
         BudgetSavings savedSavings = dataService.saveBudgetSavings(budgetSavings);
+        dataService.adjustBudgetTotals(budgetId, BigDecimal.ZERO, BigDecimal.ZERO, savedSavings.getAmount());
 
         return BudgetSavingsExtensions.toResponse(savedSavings, bankAccount);
     }
@@ -942,7 +1188,7 @@ public class DomainService implements IDomainService {
         }
 
         // Get bank account and verify it exists and is not deleted
-        BankAccount bankAccount = dataService.getBankAccountById(request.bankAccountId())
+        BankAccount bankAccount = dataService.getBankAccountSnapshotById(request.bankAccountId())
                 .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + request.bankAccountId()));
 
         if (bankAccount.getDeletedAt() != null) {
@@ -953,6 +1199,7 @@ public class DomainService implements IDomainService {
         requireActiveGoalIfPresent(request.savingsGoalId());
 
         // Update fields (a null savingsGoalId unlinks the goal)
+        BigDecimal previousAmount = savings.getAmount();
         savings.setName(request.name());
         savings.setAmount(request.amount());
         savings.setBankAccountId(request.bankAccountId());
@@ -960,6 +1207,8 @@ public class DomainService implements IDomainService {
 
         // Save (updatedAt will be auto-updated by JPA auditing)
         BudgetSavings updatedSavings = dataService.saveBudgetSavings(savings);
+        dataService.adjustBudgetTotals(budgetId,
+                BigDecimal.ZERO, BigDecimal.ZERO, updatedSavings.getAmount().subtract(previousAmount));
 
         return BudgetSavingsExtensions.toResponse(updatedSavings, bankAccount);
     }
@@ -988,6 +1237,7 @@ public class DomainService implements IDomainService {
 
         // Perform hard delete
         dataService.deleteBudgetSavings(id);
+        dataService.adjustBudgetTotals(budgetId, BigDecimal.ZERO, BigDecimal.ZERO, savings.getAmount().negate());
     }
 
     @Override
@@ -1010,12 +1260,15 @@ public class DomainService implements IDomainService {
 
         // Delete budget
         dataService.deleteBudget(id);
+        lockedBudgetDetailCache.evict(id);
     }
 
     // Budget locking operations (Story 24)
     @Override
     @Transactional
-    public BudgetResponse lockBudget(UUID budgetId) {
+    public BudgetResponse lockBudget(UUID budgetId, TransferStrategyMode transferStrategy) {
+        acquireBudgetLifecycleLock();
+
         // Fetch budget and verify it exists
         Budget budget = dataService.getBudgetById(budgetId)
                 .orElseThrow(() -> new BudgetNotFoundException("Budget not found"));
@@ -1025,11 +1278,9 @@ public class DomainService implements IDomainService {
             throw new BudgetAlreadyLockedException("Budget is already locked");
         }
 
-        // Calculate total balance (income - expenses - savings)
-        BigDecimal totalIncome = dataService.calculateTotalIncome(budgetId);
-        BigDecimal totalExpenses = dataService.calculateTotalExpenses(budgetId);
-        BigDecimal totalSavings = dataService.calculateTotalSavings(budgetId);
-        BigDecimal balance = totalIncome.subtract(totalExpenses).subtract(totalSavings);
+        // Calculate total balance (income - expenses - savings) from the materialized totals
+        BudgetTotalsResponse totals = getBudgetTotals(budgetId);
+        BigDecimal balance = totals.balance();
 
         // Verify balance equals zero
         if (balance.compareTo(BigDecimal.ZERO) != 0) {
@@ -1046,18 +1297,31 @@ public class DomainService implements IDomainService {
         Budget savedBudget = dataService.saveBudget(budget);
 
         // Generate todo list for this budget (Story 25)
-        generateTodoList(budgetId);
+        phaseTimer("lock", "todo_generation")
+                .record(() -> generateTodoList(budgetId, transferStrategies.forMode(transferStrategy)));
 
         // Update account balances based on savings (Story 26)
-        updateBalancesForBudget(budgetId, savedBudget);
+        phaseTimer("lock", "balance_update").record(() -> updateBalancesForBudget(budgetId, savedBudget));
 
         // Earmark goal-linked savings toward their goals (item 070c). Done after
         // the balance update above so the savings money already credits each
         // account, keeping the unallocated invariant satisfied.
-        allocateSavingsToGoalsOnLock(budgetId);
+        phaseTimer("lock", "goal_allocation").record(() -> allocateSavingsToGoalsOnLock(budgetId));
 
         // Update recurring expenses for this budget
-        updateRecurringExpensesForBudget(budgetId, lockedAt, savedBudget.getMonth(), savedBudget.getYear());
+        phaseTimer("lock", "recurring_update").record(() -> updateRecurringExpensesForBudget(
+                budgetId, lockedAt, savedBudget.getMonth(), savedBudget.getYear()));
+
+        // Record the locked month for the trends rollup
+        dataService.saveMonthlyBudgetSummary(new MonthlyBudgetSummary(
+                budgetId,
+                savedBudget.getYear(),
+                savedBudget.getMonth(),
+                totals.income(),
+                totals.expenses(),
+                totals.savings(),
+                lockedAt
+        ));
 
         // Return DTO
         return BudgetExtensions.toResponse(savedBudget);
@@ -1072,15 +1336,12 @@ public class DomainService implements IDomainService {
                 .distinct()
                 .toList();
 
-        for (UUID recurringExpenseId : recurringExpenseIds) {
-            RecurringExpense recurringExpense = dataService.getRecurringExpenseById(recurringExpenseId)
-                    .orElseThrow(() -> new IllegalStateException(
-                            "Recurring expense not found with id: " + recurringExpenseId));
-
-            recurringExpense.setLastUsedBudgetId(budgetId);
-            recurringExpense.setLastUsedMonth(budgetMonth);
-            recurringExpense.setLastUsedYear(budgetYear);
-            dataService.saveRecurringExpense(recurringExpense);
+        // One bulk update; every referenced recurring expense must still be active
+        int updated = dataService.markRecurringExpensesLastUsed(recurringExpenseIds, budgetId, budgetMonth, budgetYear);
+        if (updated != recurringExpenseIds.size()) {
+            throw new IllegalStateException(
+                    "Recurring expense not found for budget " + budgetId + ": expected "
+                            + recurringExpenseIds.size() + " active recurring expenses, found " + updated);
         }
     }
 
@@ -1100,42 +1361,44 @@ public class DomainService implements IDomainService {
                         )
                 ));
 
-        // Update each account that has savings
-        for (Map.Entry<UUID, BigDecimal> entry : savingsByAccount.entrySet()) {
-            UUID accountId = entry.getKey();
-            BigDecimal totalSavings = entry.getValue();
-
-            // Load bank account
-            BankAccount account = dataService.getBankAccountById(accountId)
-                    .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with id: " + accountId));
-
-            // Calculate new balance
-            BigDecimal oldBalance = account.getCurrentBalance();
-            BigDecimal newBalance = oldBalance.add(totalSavings);
-
-            // Update account balance
-            account.setCurrentBalance(newBalance);
-            dataService.saveBankAccount(account);
-
-            // Create BalanceHistory entry
-            String comment = "Budget lock for " + budget.getMonth() + "/" + budget.getYear();
-            BalanceHistory history = new BalanceHistory(
-                    accountId,
-                    newBalance,
-                    totalSavings,
-                    comment,
-                    BalanceHistorySource.AUTOMATIC,
-                    budgetId,
-                    LocalDate.now()  // Automatic entries use current date
-            );
-            dataService.saveBalanceHistory(history);
+        // Credit every account that has savings in one bulk update
+        Map<UUID, BigDecimal> newBalances = applyBalanceDeltas(savingsByAccount);
+
+        // Create BalanceHistory entries, inserted as one batch
+        String comment = "Budget lock for " + budget.getMonth() + "/" + budget.getYear();
+        List<BalanceHistory> historyEntries = savingsByAccount.entrySet().stream()
+                .map(entry -> new BalanceHistory(
+                        entry.getKey(),
+                        newBalances.get(entry.getKey()),
+                        entry.getValue(),
+                        comment,
+                        BalanceHistorySource.AUTOMATIC,
+                        budgetId,
+                        LocalDate.now()  // Automatic entries use current date
+                ))
+                .toList();
+        dataService.saveBalanceHistories(historyEntries);
+    }
+
+    // Applies per-account balance deltas in one statement; every account must exist
+    private Map<UUID, BigDecimal> applyBalanceDeltas(Map<UUID, BigDecimal> deltasByAccountId) {
+        Map<UUID, BigDecimal> newBalances = dataService.applyBalanceDeltas(deltasByAccountId);
+
+        for (UUID accountId : deltasByAccountId.keySet()) {
+            if (!newBalances.containsKey(accountId)) {
+                throw new BankAccountNotFoundException("Bank account not found with id: " + accountId);
+            }
         }
+
+        return newBalances;
     }
 
     // Budget Unlock operations (Story 27)
     @Override
     @Transactional
     public BudgetResponse unlockBudget(UUID budgetId) {
+        acquireBudgetLifecycleLock();
+
         // Validate budget exists
         Budget budget = dataService.getBudgetById(budgetId)
                 .orElseThrow(() -> new BudgetNotFoundException("Budget not found"));
@@ -1155,25 +1418,62 @@ public class DomainService implements IDomainService {
 
         // Reverse goal allocations made on lock (item 070c) before restoring
         // balances — the inverse order of lock (allocate after balance update).
-        reverseSavingsGoalAllocationsOnUnlock(budgetId);
+        phaseTimer("unlock", "goal_allocation").record(() -> reverseSavingsGoalAllocationsOnUnlock(budgetId));
 
         // Reverse balance changes
-        reverseBalanceChanges(budgetId);
+        phaseTimer("unlock", "balance_update").record(() -> reverseBalanceChanges(budgetId));
 
         // Restore recurring expenses to previous state
-        restoreRecurringExpenses(budgetId);
+        phaseTimer("unlock", "recurring_update").record(() -> restoreRecurringExpenses(budgetId));
 
         // Delete todo list
-        dataService.deleteTodoListByBudgetId(budgetId);
+        phaseTimer("unlock", "todo_deletion").record(() -> dataService.deleteTodoListByBudgetId(budgetId));
+
+        // The month is no longer locked, so it leaves the trends rollup
+        dataService.deleteMonthlyBudgetSummary(budgetId);
 
         // Update budget status and clear lockedAt
         budget.setStatus(BudgetStatus.UNLOCKED);
         budget.setLockedAt(null);
         Budget savedBudget = dataService.saveBudget(budget);
+        lockedBudgetDetailCache.evict(budgetId);
 
         return BudgetExtensions.toResponse(savedBudget);
     }
 
+    /**
+     * Serializes lock and unlock across all budgets for the rest of the transaction. The
+     * state checks that follow then see any lock/unlock that committed first, and a request
+     * that overlaps one still running fails fast with 409 instead of interleaving with it.
+     */
+    private void acquireBudgetLifecycleLock() {
+        long start = System.nanoTime();
+        boolean acquired = dataService.tryAcquireBudgetLifecycleLock();
+        Timer.builder("budget.lifecycle.lock.acquire")
+                .description("Time to try the budget lock/unlock advisory lock, by outcome")
+                .tag("outcome", acquired ? "acquired" : "busy")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            throw new BudgetLifecycleBusyException(
+                    "Another budget is being locked or unlocked. Try again in a moment.");
+        }
+    }
+
+    /**
+     * Timer for one step of lock or unlock. Unlock tags each reversal with the phase it undoes,
+     * except todo_deletion; todo_generation on lock includes transfer_calculation.
+     */
+    private Timer phaseTimer(String operation, String phase) {
+        return Timer.builder("budget.lifecycle.phase")
+                .description("Time per budget lock/unlock step")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
     private void reverseBalanceChanges(UUID budgetId) {
         // Find all AUTOMATIC balance history entries for this budget
         List<BalanceHistory> automaticHistory = dataService.getBalanceHistoryByBudgetIdAndSource(
@@ -1181,71 +1481,36 @@ public class DomainService implements IDomainService {
                 BalanceHistorySource.AUTOMATIC
         );
 
-        // For each history entry, reverse the balance change
-        for (BalanceHistory history : automaticHistory) {
-            // Load the bank account
-            BankAccount account = dataService.getBankAccountById(history.getBankAccountId())
-                    .orElseThrow(() -> new BankAccountNotFoundException(
-                            "Bank account not found with id: " + history.getBankAccountId()));
-
-            // Reverse the balance change (subtract the amount that was added)
-            BigDecimal newBalance = account.getCurrentBalance().subtract(history.getChangeAmount());
-            account.setCurrentBalance(newBalance);
-            dataService.saveBankAccount(account);
-        }
+        // Reverse the balance changes (subtract the amounts that were added), per account
+        Map<UUID, BigDecimal> reversalsByAccount = automaticHistory.stream()
+                .collect(Collectors.groupingBy(
+                        BalanceHistory::getBankAccountId,
+                        Collectors.reducing(
+                                BigDecimal.ZERO,
+                                history -> history.getChangeAmount().negate(),
+                                BigDecimal::add
+                        )
+                ));
+        applyBalanceDeltas(reversalsByAccount);
 
         // Delete all automatic balance history entries for this budget
         dataService.deleteBalanceHistoryByBudgetId(budgetId);
     }
 
     private void restoreRecurringExpenses(UUID budgetId) {
-        // Get all budget expenses for this budget
-        List<BudgetExpense> budgetExpenses = dataService.getBudgetExpensesByBudgetId(budgetId);
-
-        // Get unique recurring expense IDs
-        List<UUID> recurringExpenseIds = budgetExpenses.stream()
-                .filter(expense -> expense.getRecurringExpenseId() != null)
-                .map(BudgetExpense::getRecurringExpenseId)
-                .distinct()
-                .toList();
-
-        // For each recurring expense, restore to previous locked budget state
-        for (UUID recurringExpenseId : recurringExpenseIds) {
-            RecurringExpense recurringExpense = dataService.getRecurringExpenseById(recurringExpenseId)
-                    .orElse(null);
-
-            if (recurringExpense == null) {
-                continue;
-            }
-
-            // Only restore if this budget was the last one to use it
-            if (budgetId.equals(recurringExpense.getLastUsedBudgetId())) {
-                // Find previous locked budget that used this recurring expense
-                List<Budget> previousBudgets = dataService.findLockedBudgetsUsingRecurringExpense(
-                        recurringExpenseId,
-                        budgetId
-                );
-
-                if (!previousBudgets.isEmpty()) {
-                    Budget previousBudget = previousBudgets.get(0);
-                    recurringExpense.setLastUsedBudgetId(previousBudget.getId());
-                    recurringExpense.setLastUsedMonth(previousBudget.getMonth());
-                    recurringExpense.setLastUsedYear(previousBudget.getYear());
-                } else {
-                    recurringExpense.setLastUsedBudgetId(null);
-                    recurringExpense.setLastUsedMonth(null);
-                    recurringExpense.setLastUsedYear(null);
-                }
-
-                dataService.saveRecurringExpense(recurringExpense);
-            }
-        }
+        // For each active recurring expense this budget was the last to use, point it back
+        // at the previous locked budget that used it (or clear it) in one set-based update
+        dataService.restoreRecurringExpensesLastUsed(budgetId);
     }
 
     // Todo List operations (Story 25)
     @Override
     @Transactional
     public void generateTodoList(UUID budgetId) {
+        generateTodoList(budgetId, transferStrategies.forMode(null));
+    }
+
+    private void generateTodoList(UUID budgetId, TransferStrategy transferStrategy) {
         // Delete existing todo list if it exists (for relock scenario)
         dataService.deleteTodoListByBudgetId(budgetId);
 
@@ -1260,15 +1525,22 @@ public class DomainService implements IDomainService {
         List<BudgetExpense> expenses = dataService.getBudgetExpensesByBudgetId(budgetId);
         List<BudgetSavings> savings = dataService.getBudgetSavingsByBudgetId(budgetId);
 
-        // Calculate transfers using TransferCalculationUtils
-        List<TransferPlan> transfers = TransferCalculationUtils.calculateTransfers(budget, income, expenses, savings);
+        List<TransferPlan> transfers = phaseTimer("lock", "transfer_calculation")
+                .record(() -> transferStrategy.calculateTransfers(budget, income, expenses, savings));
+
+        // Every account a todo item can reference is on a line item; the line-item
+        // queries fetch-join their accounts, so the map needs no extra lookups
+        Map<UUID, BankAccount> accountsById = new HashMap<>();
+        income.forEach(item -> accountsById.putIfAbsent(item.getBankAccountId(), item.getBankAccount()));
+        expenses.forEach(item -> accountsById.putIfAbsent(item.getBankAccountId(), item.getBankAccount()));
+        savings.forEach(item -> accountsById.putIfAbsent(item.getBankAccountId(), item.getBankAccount()));
+
+        List<TodoItem> todoItems = new ArrayList<>();
 
         // Create TRANSFER todo items
         for (TransferPlan transfer : transfers) {
-            BankAccount fromAccount = dataService.getBankAccountById(transfer.getFromAccountId())
-                    .orElseThrow(() -> new BankAccountNotFoundException("Account not found: " + transfer.getFromAccountId()));
-            BankAccount toAccount = dataService.getBankAccountById(transfer.getToAccountId())
-                    .orElseThrow(() -> new BankAccountNotFoundException("Account not found: " + transfer.getToAccountId()));
+            BankAccount fromAccount = requireAccount(accountsById, transfer.getFromAccountId());
+            BankAccount toAccount = requireAccount(accountsById, transfer.getToAccountId());
 
             String itemName = "Transfer " + transfer.getAmount() + " from " + fromAccount.getName() +
                               " to " + toAccount.getName();
@@ -1281,7 +1553,7 @@ public class DomainService implements IDomainService {
                     transfer.getFromAccountId(),
                     transfer.getToAccountId()
             );
-            dataService.saveTodoItem(transferItem);
+            todoItems.add(transferItem);
         }
 
         // Create PAYMENT todo items for manual expenses
@@ -1290,8 +1562,7 @@ public class DomainService implements IDomainService {
                 .toList();
 
         for (BudgetExpense expense : manualExpenses) {
-            BankAccount account = dataService.getBankAccountById(expense.getBankAccountId())
-                    .orElseThrow(() -> new BankAccountNotFoundException("Account not found: " + expense.getBankAccountId()));
+            BankAccount account = requireAccount(accountsById, expense.getBankAccountId());
 
             String itemName = "Pay " + expense.getName() + " (" + expense.getAmount() + ") from " + account.getName();
 
@@ -1302,8 +1573,60 @@ public class DomainService implements IDomainService {
                     expense.getAmount(),
                     expense.getBankAccountId()
             );
-            dataService.saveTodoItem(paymentItem);
+            todoItems.add(paymentItem);
+        }
+
+        // Persist all items in one batch (hibernate.jdbc.batch_size)
+        dataService.saveTodoItems(todoItems);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransferPreviewResponse getTransferPreview(UUID budgetId, TransferStrategyMode transferStrategy) {
+        Budget budget = dataService.getBudgetById(budgetId)
+                .orElseThrow(() -> new BudgetNotFoundException("Budget not found with id: " + budgetId));
+        List<BudgetIncome> income = dataService.getBudgetIncomeByBudgetId(budgetId);
+        List<BudgetExpense> expenses = dataService.getBudgetExpensesByBudgetId(budgetId);
+        List<BudgetSavings> savings = dataService.getBudgetSavingsByBudgetId(budgetId);
+
+        TransferStrategyMode mode = transferStrategies.resolve(transferStrategy);
+        List<TransferPlan> transfers = transferStrategies.forMode(mode)
+                .calculateTransfers(budget, income, expenses, savings);
+        List<AccountNetPosition> positions = TransferCalculationUtils.calculateAccountNetPositions(income, expenses, savings);
+
+        // Same fetch-joined account map as generateTodoList
+        Map<UUID, BankAccount> accountsById = new HashMap<>();
+        income.forEach(item -> accountsById.putIfAbsent(item.getBankAccountId(), item.getBankAccount()));
+        expenses.forEach(item -> accountsById.putIfAbsent(item.getBankAccountId(), item.getBankAccount()));
+        savings.forEach(item -> accountsById.putIfAbsent(item.getBankAccountId(), item.getBankAccount()));
+
+        BigDecimal balance = positions.stream()
+                .map(AccountNetPosition::getNetAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // Largest surplus or deficit first, matching the order the greedy plan works through
+        List<AccountNetPositionResponse> accounts = positions.stream()
+                .sorted(Comparator.<AccountNetPosition>naturalOrder()
+                        .thenComparing(position -> requireAccount(accountsById, position.getAccountId()).getName()))
+                .map(position -> BudgetExtensions.toNetPositionResponse(
+                        position, requireAccount(accountsById, position.getAccountId())))
+                .toList();
+
+        List<TransferPreviewItemResponse> transferResponses = transfers.stream()
+                .map(transfer -> BudgetExtensions.toTransferPreviewItemResponse(transfer,
+                        requireAccount(accountsById, transfer.getFromAccountId()),
+                        requireAccount(accountsById, transfer.getToAccountId())))
+                .toList();
+
+        return new TransferPreviewResponse(budgetId, mode, balance, accounts, transferResponses);
+    }
+
+    private BankAccount requireAccount(Map<UUID, BankAccount> accountsById, UUID accountId) {
+        BankAccount account = accountsById.get(accountId);
+        if (account == null) {
+            throw new BankAccountNotFoundException("Account not found: " + accountId);
         }
+        return account;
     }
 
     @Override
@@ -1312,20 +1635,12 @@ public class DomainService implements IDomainService {
         TodoList todoList = dataService.getTodoListByBudgetId(budgetId)
                 .orElseThrow(() -> new TodoListNotFoundException("Todo list not found for this budget"));
 
-        // Fetch all items for this todo list
+        // Fetch all items for this todo list (from/to accounts are fetch-joined)
         List<TodoItem> items = dataService.getTodoItemsByTodoListId(todoList.getId());
 
         // Map items to DTOs with account details
         List<TodoItemResponse> itemResponses = items.stream()
-                .map(item -> {
-                    BankAccount fromAccount = item.getFromAccountId() != null
-                            ? dataService.getBankAccountById(item.getFromAccountId()).orElse(null)
-                            : null;
-                    BankAccount toAccount = item.getToAccountId() != null
-                            ? dataService.getBankAccountById(item.getToAccountId()).orElse(null)
-                            : null;
-                    return TodoExtensions.toItemResponse(item, fromAccount, toAccount);
-                })
+                .map(item -> TodoExtensions.toItemResponse(item, item.getFromAccount(), item.getToAccount()))
                 .toList();
 
         // Return mapped response with summary
@@ -1371,10 +1686,10 @@ public class DomainService implements IDomainService {
 
         // Fetch bank accounts for mapping
         BankAccount fromAccount = updatedTodoItem.getFromAccountId() != null
-                ? dataService.getBankAccountById(updatedTodoItem.getFromAccountId()).orElse(null)
+                ? dataService.getBankAccountSnapshotById(updatedTodoItem.getFromAccountId()).orElse(null)
                 : null;
         BankAccount toAccount = updatedTodoItem.getToAccountId() != null
-                ? dataService.getBankAccountById(updatedTodoItem.getToAccountId()).orElse(null)
+                ? dataService.getBankAccountSnapshotById(updatedTodoItem.getToAccountId()).orElse(null)
                 : null;
 
         // Return mapped DTO
@@ -1400,8 +1715,18 @@ public class DomainService implements IDomainService {
 
     @Override
     public SavingsGoalListResponse getAllSavingsGoals() {
-        List<SavingsGoalResponse> goals = dataService.getActiveSavingsGoals().stream()
-                .map(this::buildGoalResponse)
+        List<SavingsGoal> activeGoals = dataService.getActiveSavingsGoals();
+
+        // Hydrate every goal from two batched lookups: allocations (IN query) and account names
+        List<GoalAllocation> allocations = dataService.getGoalAllocationsByGoalIds(activeGoals.stream()
+                .map(SavingsGoal::getId).toList());
+        Map<UUID, List<GoalAllocation>> allocationsByGoal = allocations.stream()
+                .collect(Collectors.groupingBy(GoalAllocation::getSavingsGoalId));
+        Map<UUID, String> accountNames = accountNames(allocations.stream()
+                .map(GoalAllocation::getBankAccountId).distinct().toList());
+
+        List<SavingsGoalResponse> goals = activeGoals.stream()
+                .map(goal -> SavingsGoalExtensions.toResponse(goal, allocationsByGoal, accountNames))
                 .toList();
         return new SavingsGoalListResponse(goals.size(), goals);
     }
@@ -1444,8 +1769,13 @@ public class DomainService implements IDomainService {
     }
 
     @Override
-    @Transactional
     public SavingsGoalResponse archiveSavingsGoal(UUID id, ArchiveRequest request) {
+        // Released amounts are read from the allocations inside the transaction, so a re-run
+        // after losing a race on a backing account's balance releases exactly the same money
+        return retryOnConflict(() -> archiveGoal(id, request));
+    }
+
+    private SavingsGoalResponse archiveGoal(UUID id, ArchiveRequest request) {
         SavingsGoal goal = requireActiveGoal(id);
 
         for (GoalAllocation allocation : dataService.getGoalAllocationsByGoalId(goal.getId())) {
@@ -1581,7 +1911,7 @@ public class DomainService implements IDomainService {
         if (ids.isEmpty()) {
             return Map.of();
         }
-        return dataService.getBankAccountsByIds(ids).stream()
+        return dataService.getBankAccountSnapshotsByIds(ids).stream()
                 .collect(Collectors.toMap(BankAccount::getId, BankAccount::getName));
     }
 
@@ -1606,4 +1936,61 @@ public class DomainService implements IDomainService {
         }
         return account;
     }
+
+    /**
+     * Runs {@code work} in a transaction of its own and re-runs it from scratch, up to
+     * {@link #MAX_CONFLICT_ATTEMPTS} times, when it loses an optimistic-lock race on a bank
+     * account. Only for operations whose effect does not depend on state the client saw
+     * before the request; anything else surfaces the conflict as a 409. Inside an outer
+     * transaction it runs once, since only the outer transaction could be retried.
+     */
+    private <T> T retryOnConflict(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_CONFLICT_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Conditional GET support: entity tags are derived from data-layer version stamps
+    @Override
+    public String getBankAccountsETag() {
+        return toETag("bank-accounts", dataService.getBankAccountsVersionStamp());
+    }
+
+    @Override
+    public String getBudgetsETag() {
+        return toETag("budgets", dataService.getBudgetsVersionStamp());
+    }
+
+    @Override
+    public String getSavingsGoalsETag() {
+        return toETag("savings-goals", dataService.getSavingsGoalsVersionStamp());
+    }
+
+    @Override
+    public String getTodoListETag(UUID budgetId) {
+        // A missing list is a 404, never a 304 matched against a tag of nothing
+        String versionStamp = dataService.getTodoListVersionStamp(budgetId)
+                .orElseThrow(() -> new TodoListNotFoundException("Todo list not found for this budget"));
+        return toETag("todo-list:" + budgetId, versionStamp);
+    }
+
+    // Strong, quoted entity tag; the stamp is digested so clients never see table internals
+    private static String toETag(String resource, String versionStamp) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((resource + '|' + versionStamp).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package org.example.axelnyman.main.domain.services;
+
+import org.example.axelnyman.main.domain.abstracts.IDataService;
+import org.example.axelnyman.main.domain.model.IdempotencyKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Bookkeeping for {@code Idempotency-Key} requests: a key is reserved before its request runs,
+ * completed with the response on success, and released otherwise so the client can retry.
+ * Keys are kept for {@code app.idempotency.ttl}, after which the same key runs as a new request.
+ * A reservation left uncompleted for longer than {@code app.idempotency.lease} (its request died
+ * mid-flight) is free for a retry to take over.
+ */
+@Service
+public class IdempotencyService {
+
+    private final IDataService dataService;
+    private final Duration ttl;
+    private final Duration lease;
+
+    public IdempotencyService(IDataService dataService,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.lease:2m}") Duration lease) {
+        this.dataService = dataService;
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    public Optional<IdempotencyKey> find(String key) {
+        return dataService.getIdempotencyKey(key);
+    }
+
+    public boolean reserve(String key, String requestHash) {
+        return dataService.reserveIdempotencyKey(key, requestHash, LocalDateTime.now().minus(lease));
+    }
+
+    public void complete(String key, int status, String contentType, String body) {
+        dataService.completeIdempotencyKey(key, status, contentType, body);
+    }
+
+    public void release(String key) {
+        dataService.releaseIdempotencyKey(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-interval:PT1H}")
+    public void deleteExpiredKeys() {
+        dataService.deleteIdempotencyKeysCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+}
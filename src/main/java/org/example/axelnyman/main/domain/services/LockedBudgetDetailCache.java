@@ -0,0 +1,86 @@
+package org.example.axelnyman.main.domain.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.axelnyman.main.domain.dtos.BudgetDtos.BudgetDetailResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot cache of {@link BudgetDetailResponse} for LOCKED budgets.
+ *
+ * <p>A locked budget's line items cannot change, and the response is an immutable record
+ * graph, so a built response can be shared as-is. Entries are keyed by budget id and
+ * {@code lockedAt}: unlocking clears {@code lockedAt} and re-locking sets a new one, so an
+ * entry can never be served for a different locked state, even if it was written by a
+ * read racing the unlock. Eviction on unlock/delete only frees memory early.
+ *
+ * <p>The one mutable input is the account name shown on each line item, so renaming an
+ * account clears the whole cache (now and after the renaming transaction completes).
+ */
+@Component
+public class LockedBudgetDetailCache {
+
+    private record Key(UUID budgetId, LocalDateTime lockedAt) {}
+
+    private final Cache<Key, BudgetDetailResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public LockedBudgetDetailCache(
+            @Value("${app.cache.locked-budget-details.maximum-size:200}") long maximumSize,
+            @Value("${app.cache.locked-budget-details.expire-after-access:1h}") Duration expireAfterAccess,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "lockedBudgetDetails");
+    }
+
+    public BudgetDetailResponse get(UUID budgetId, LocalDateTime lockedAt, Supplier<BudgetDetailResponse> loader) {
+        Key key = new Key(budgetId, lockedAt);
+        BudgetDetailResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = generation.get();
+        BudgetDetailResponse loaded = loader.get();
+        // A build that overlaps evictAll() may carry an old account name, so it is not stored
+        cache.asMap().compute(key, (k, existing) -> generation.get() == loadGeneration ? loaded : existing);
+        return loaded;
+    }
+
+    public void evict(UUID budgetId) {
+        cache.asMap().keySet().removeIf(key -> key.budgetId().equals(budgetId));
+    }
+
+    public void evictAll() {
+        evictAllNow();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictAllNow();
+                }
+            });
+        }
+    }
+
+    private void evictAllNow() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
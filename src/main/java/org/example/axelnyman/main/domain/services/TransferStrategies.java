@@ -0,0 +1,50 @@
+package org.example.axelnyman.main.domain.services;
+
+import org.example.axelnyman.main.domain.model.TransferStrategyMode;
+import org.example.axelnyman.main.domain.utils.MinimalTransferCalculationUtils;
+import org.example.axelnyman.main.domain.utils.MinorUnitTransferCalculationUtils;
+import org.example.axelnyman.main.domain.utils.TransferStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Resolves the {@link TransferStrategy} for a lock: the mode asked for by the request, or
+ * {@code app.transfers.strategy} when none was given. The minimal solver searches at most
+ * {@code app.transfers.minimal.max-accounts} accounts for at most
+ * {@code app.transfers.minimal.time-budget}, then falls back to the greedy plan, so lock
+ * latency stays bounded.
+ */
+@Component
+public class TransferStrategies {
+
+    private final TransferStrategyMode defaultMode;
+    private final TransferStrategy greedy;
+    private final TransferStrategy minimal;
+
+    public TransferStrategies(
+            @Value("${app.transfers.strategy:greedy}") String defaultMode,
+            @Value("${app.transfers.minimal.max-accounts:16}") int maxAccounts,
+            @Value("${app.transfers.minimal.time-budget:50ms}") Duration timeBudget) {
+        if (maxAccounts > MinimalTransferCalculationUtils.MAX_SUPPORTED_ACCOUNTS) {
+            throw new IllegalArgumentException("app.transfers.minimal.max-accounts must be at most "
+                    + MinimalTransferCalculationUtils.MAX_SUPPORTED_ACCOUNTS);
+        }
+        this.defaultMode = TransferStrategyMode.fromParam(defaultMode);
+        this.greedy = MinorUnitTransferCalculationUtils::calculateTransfers;
+        this.minimal = (budget, income, expenses, savings) -> MinimalTransferCalculationUtils.calculateTransfers(
+                budget, income, expenses, savings, maxAccounts, timeBudget);
+    }
+
+    public TransferStrategyMode resolve(TransferStrategyMode mode) {
+        return mode != null ? mode : defaultMode;
+    }
+
+    public TransferStrategy forMode(TransferStrategyMode mode) {
+        return switch (resolve(mode)) {
+            case GREEDY -> greedy;
+            case MINIMAL -> minimal;
+        };
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.axelnyman.main.domain.utils;
+
+import org.example.axelnyman.main.domain.model.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Transfer plan with the fewest transfers. A group of k accounts whose net amounts sum to zero
+ * can always be settled with k - 1 transfers, so the fewest transfers for n accounts is
+ * n minus the largest number of disjoint zero-sum groups. The greedy engine can miss such
+ * groups (e.g. +5, +3, -5, -3 becomes three transfers instead of two).
+ *
+ * Algorithm Overview:
+ * 1. Calculate net position per account and drop balanced accounts
+ * 2. DP over account subsets (bitmasks): best[mask] = most zero-sum groups that mask splits into
+ * 3. Walk the DP back to recover the groups
+ * 4. Settle each group with the greedy match (k - 1 transfers per group)
+ *
+ * The DP is O(2^n · n), so it only runs up to {@code maxAccounts} non-balanced accounts and
+ * within {@code timeBudget}; otherwise, for unbalanced budgets, or when it saves nothing, the
+ * greedy plan of {@link MinorUnitTransferCalculationUtils} is returned unchanged.
+ *
+ * This class contains only pure functions with no side effects or database access.
+ */
+public final class MinimalTransferCalculationUtils {
+
+    // 2^20 masks of long sums is 8 MiB; beyond that the DP is no longer cheap enough for a request
+    public static final int MAX_SUPPORTED_ACCOUNTS = 20;
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+
+    private MinimalTransferCalculationUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Calculates a plan with the minimum number of transfers, or the greedy plan when the
+     * budget is too large, unbalanced, or the search runs out of time.
+     *
+     * @param budget The budget (used for context, not for calculation)
+     * @param income List of income entries for the budget
+     * @param expenses List of expense entries for the budget
+     * @param savings List of savings entries for the budget
+     * @param maxAccounts Largest number of non-balanced accounts to search (at most {@value #MAX_SUPPORTED_ACCOUNTS})
+     * @param timeBudget Time after which the search gives up and the greedy plan is returned
+     * @return List of transfer plans needed to balance all accounts
+     */
+    public static List<TransferPlan> calculateTransfers(
+            Budget budget,
+            List<BudgetIncome> income,
+            List<BudgetExpense> expenses,
+            List<BudgetSavings> savings,
+            int maxAccounts,
+            Duration timeBudget
+    ) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        List<TransferPlan> greedy = MinorUnitTransferCalculationUtils.calculateTransfers(budget, income, expenses, savings);
+
+        // Largest first, like the greedy engine, so groups and transfers come out in a familiar order
+        List<AccountNetPosition> positions = TransferCalculationUtils.calculateAccountNetPositions(income, expenses, savings)
+                .stream()
+                .filter(position -> !position.isBalanced())
+                .sorted(Comparator.<AccountNetPosition>naturalOrder().thenComparing(AccountNetPosition::getAccountId))
+                .toList();
+
+        int n = positions.size();
+        // Every transfer settles at most two accounts, so a greedy plan this short is already minimal
+        if (n > Math.min(maxAccounts, MAX_SUPPORTED_ACCOUNTS) || greedy.size() <= (n + 1) / 2) {
+            return greedy;
+        }
+
+        int scale = positions.stream().mapToInt(position -> position.getNetAmount().scale()).max().orElse(0);
+        long[] net = new long[n];
+        try {
+            long surplusTotal = 0;
+            long deficitTotal = 0;
+            for (int i = 0; i < n; i++) {
+                net[i] = positions.get(i).getNetAmount().setScale(scale).unscaledValue().longValueExact();
+                if (net[i] > 0) {
+                    surplusTotal = Math.addExact(surplusTotal, net[i]);
+                } else {
+                    deficitTotal = Math.subtractExact(deficitTotal, net[i]);
+                }
+            }
+            if (surplusTotal != deficitTotal) {
+                return greedy;
+            }
+        } catch (ArithmeticException e) {
+            return greedy;
+        }
+
+        List<int[]> groups = zeroSumGroups(net, deadline);
+        if (groups == null || n - groups.size() >= greedy.size()) {
+            return greedy;
+        }
+
+        List<TransferPlan> transfers = new ArrayList<>();
+        for (int[] group : groups) {
+            settleGroup(group, positions, net, scale, transfers);
+        }
+        return transfers;
+    }
+
+    /**
+     * Splits all accounts into the largest number of zero-sum groups, or returns null if the
+     * deadline passes first. Requires the amounts to sum to zero.
+     */
+    private static List<int[]> zeroSumGroups(long[] net, long deadline) {
+        int n = net.length;
+        int full = (1 << n) - 1;
+        long[] sum = new long[full + 1];
+        byte[] best = new byte[full + 1];
+        byte[] removed = new byte[full + 1];
+
+        for (int mask = 1; mask <= full; mask++) {
+            if ((mask & (DEADLINE_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadline) {
+                return null;
+            }
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            // Cannot overflow: every subset sum lies within the surplus/deficit totals checked above
+            sum[mask] = sum[mask & (mask - 1)] + net[lowest];
+
+            int bestCount = -1;
+            int bestRemoved = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int i = Integer.numberOfTrailingZeros(rest);
+                int count = best[mask & ~(1 << i)];
+                if (count > bestCount) {
+                    bestCount = count;
+                    bestRemoved = i;
+                }
+            }
+            best[mask] = (byte) (bestCount + (sum[mask] == 0 ? 1 : 0));
+            removed[mask] = (byte) bestRemoved;
+        }
+
+        // Walking back from the full set, each zero-sum mask closes one group
+        List<int[]> groups = new ArrayList<>();
+        int mask = full;
+        while (mask != 0) {
+            int groupMask = 0;
+            do {
+                int i = removed[mask];
+                groupMask |= 1 << i;
+                mask &= ~(1 << i);
+            } while (mask != 0 && sum[mask] != 0);
+            groups.add(members(groupMask));
+        }
+        Collections.reverse(groups);
+        return groups;
+    }
+
+    private static int[] members(int mask) {
+        int[] members = new int[Integer.bitCount(mask)];
+        int k = 0;
+        for (int rest = mask; rest != 0; rest &= rest - 1) {
+            members[k++] = Integer.numberOfTrailingZeros(rest);
+        }
+        return members;
+    }
+
+    /**
+     * Greedy match within one zero-sum group; members are indices into the largest-first
+     * positions, so each side is already ordered largest first.
+     */
+    private static void settleGroup(int[] group, List<AccountNetPosition> positions, long[] net, int scale,
+                                    List<TransferPlan> transfers) {
+        int[] surplus = Arrays.stream(group).filter(i -> net[i] > 0).toArray();
+        int[] deficit = Arrays.stream(group).filter(i -> net[i] < 0).toArray();
+        long[] remaining = new long[net.length];
+        for (int i : group) {
+            remaining[i] = Math.abs(net[i]);
+        }
+
+        int s = 0;
+        int d = 0;
+        while (s < surplus.length && d < deficit.length) {
+            int from = surplus[s];
+            int to = deficit[d];
+            long amount = Math.min(remaining[from], remaining[to]);
+            transfers.add(new TransferPlan(
+                    positions.get(from).getAccountId(),
+                    positions.get(to).getAccountId(),
+                    BigDecimal.valueOf(amount, scale)
+            ));
+            remaining[from] -= amount;
+            remaining[to] -= amount;
+            if (remaining[from] == 0) {
+                s++;
+            }
+            if (remaining[to] == 0) {
+                d++;
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.axelnyman.main.domain.utils;
+
+import org.example.axelnyman.main.domain.model.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Allocation-light engine for {@link TransferCalculationUtils#calculateTransfers}, returning
+ * exactly the same list of {@link TransferPlan}s (same order, amounts and scales).
+ *
+ * Amounts are converted to {@code long} minor units once, net positions are summed into a
+ * primitive array indexed per account, and the greedy match walks two sorted index arrays
+ * instead of mutating {@link AccountNetPosition}s and calling {@code remove(0)}: O(n log n)
+ * instead of O(n²) in the worst case.
+ *
+ * Exactness relies on every amount having the same scale, which holds for amounts loaded from
+ * {@code NUMERIC(19,2)} columns. Inputs with mixed scales, or sums that overflow a long, fall
+ * back to {@link TransferCalculationUtils}.
+ *
+ * This class contains only pure functions with no side effects or database access.
+ */
+public final class MinorUnitTransferCalculationUtils {
+
+    private MinorUnitTransferCalculationUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Same contract and result as {@link TransferCalculationUtils#calculateTransfers}.
+     *
+     * @param budget The budget (used for context, not for calculation)
+     * @param income List of income entries for the budget
+     * @param expenses List of expense entries for the budget
+     * @param savings List of savings entries for the budget
+     * @return List of transfer plans needed to balance all accounts
+     */
+    public static List<TransferPlan> calculateTransfers(
+            Budget budget,
+            List<BudgetIncome> income,
+            List<BudgetExpense> expenses,
+            List<BudgetSavings> savings
+    ) {
+        Integer scale = commonScale(income, expenses, savings);
+        if (scale == null) {
+            return TransferCalculationUtils.calculateTransfers(budget, income, expenses, savings);
+        }
+
+        NetPositions positions;
+        long[] remaining;
+        try {
+            positions = netPositions(income, expenses, savings);
+            remaining = new long[positions.count];
+            for (int i = 0; i < positions.count; i++) {
+                remaining[i] = Math.absExact(positions.net[i]);
+            }
+        } catch (ArithmeticException e) {
+            // An amount or a per-account sum does not fit in a long
+            return TransferCalculationUtils.calculateTransfers(budget, income, expenses, savings);
+        }
+
+        // Surplus and deficit indices, in the reference engine's (HashMap) order
+        int[] surplus = new int[positions.count];
+        int[] deficit = new int[positions.count];
+        int surplusCount = 0;
+        int deficitCount = 0;
+        for (int index : positions.iterationOrder) {
+            long net = positions.net[index];
+            if (net > 0) {
+                surplus[surplusCount++] = index;
+            } else if (net < 0) {
+                deficit[deficitCount++] = index;
+            }
+        }
+
+        // Largest absolute amount first; stable, like Stream.sorted() in the reference engine
+        sortByAmountDescending(surplus, surplusCount, remaining);
+        sortByAmountDescending(deficit, deficitCount, remaining);
+
+        // The reference engine never re-sorts after a partial transfer, so both lists are queues
+        List<TransferPlan> transfers = new ArrayList<>();
+        int s = 0;
+        int d = 0;
+        while (s < surplusCount && d < deficitCount) {
+            int from = surplus[s];
+            int to = deficit[d];
+            long amount = Math.min(remaining[from], remaining[to]);
+
+            transfers.add(new TransferPlan(
+                    positions.accountIds[from],
+                    positions.accountIds[to],
+                    BigDecimal.valueOf(amount, scale)
+            ));
+
+            remaining[from] -= amount;
+            remaining[to] -= amount;
+            if (remaining[from] == 0) {
+                s++;
+            }
+            if (remaining[to] == 0) {
+                d++;
+            }
+        }
+
+        return transfers;
+    }
+
+    private record NetPositions(UUID[] accountIds, long[] net, int count, int[] iterationOrder) {}
+
+    private static NetPositions netPositions(
+            List<BudgetIncome> income,
+            List<BudgetExpense> expenses,
+            List<BudgetSavings> savings
+    ) {
+        int capacity = income.size() + expenses.size() + savings.size();
+        // Inserted in the same key order as the reference engine's HashMap, so it iterates the same
+        Map<UUID, Integer> indexByAccount = new HashMap<>();
+        UUID[] accountIds = new UUID[capacity];
+        long[] net = new long[capacity];
+
+        for (BudgetIncome inc : income) {
+            int index = indexByAccount.computeIfAbsent(inc.getBankAccountId(), id -> register(id, indexByAccount, accountIds));
+            net[index] = Math.addExact(net[index], minorUnits(inc.getAmount()));
+        }
+        for (BudgetExpense exp : expenses) {
+            int index = indexByAccount.computeIfAbsent(exp.getBankAccountId(), id -> register(id, indexByAccount, accountIds));
+            net[index] = Math.subtractExact(net[index], minorUnits(exp.getAmount()));
+        }
+        for (BudgetSavings sav : savings) {
+            int index = indexByAccount.computeIfAbsent(sav.getBankAccountId(), id -> register(id, indexByAccount, accountIds));
+            net[index] = Math.subtractExact(net[index], minorUnits(sav.getAmount()));
+        }
+
+        int count = indexByAccount.size();
+        int[] iterationOrder = new int[count];
+        int i = 0;
+        for (int index : indexByAccount.values()) {
+            iterationOrder[i++] = index;
+        }
+        return new NetPositions(accountIds, net, count, iterationOrder);
+    }
+
+    private static int register(UUID accountId, Map<UUID, Integer> indexByAccount, UUID[] accountIds) {
+        int index = indexByAccount.size();
+        accountIds[index] = accountId;
+        return index;
+    }
+
+    // Every amount shares one scale, so the unscaled value is the amount in minor units
+    private static long minorUnits(BigDecimal amount) {
+        return amount.unscaledValue().longValueExact();
+    }
+
+    /**
+     * Returns the scale shared by every amount, or null if the scales differ. An empty budget
+     * has no transfers, so any scale will do.
+     */
+    private static Integer commonScale(
+            List<BudgetIncome> income,
+            List<BudgetExpense> expenses,
+            List<BudgetSavings> savings
+    ) {
+        int scale = -1;
+        for (BudgetIncome inc : income) {
+            scale = sameScale(scale, inc.getAmount());
+            if (scale == -2) return null;
+        }
+        for (BudgetExpense exp : expenses) {
+            scale = sameScale(scale, exp.getAmount());
+            if (scale == -2) return null;
+        }
+        for (BudgetSavings sav : savings) {
+            scale = sameScale(scale, sav.getAmount());
+            if (scale == -2) return null;
+        }
+        return Math.max(scale, 0);
+    }
+
+    // -1 means no amount seen yet, -2 means a mismatch (or a negative scale)
+    private static int sameScale(int scale, BigDecimal amount) {
+        int amountScale = amount.scale();
+        if (amountScale < 0 || (scale >= 0 && scale != amountScale)) {
+            return -2;
+        }
+        return amountScale;
+    }
+
+    /**
+     * Stable merge sort of the first {@code length} indices, largest {@code amounts[index]} first.
+     */
+    private static void sortByAmountDescending(int[] indices, int length, long[] amounts) {
+        if (length < 2) {
+            return;
+        }
+        int[] buffer = new int[length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int left = 0; left < length - width; left += 2 * width) {
+                int mid = left + width;
+                int right = Math.min(left + 2 * width, length);
+                int i = left;
+                int j = mid;
+                int k = left;
+                while (i < mid && j < right) {
+                    // Take from the right run only when strictly larger, which keeps ties in order
+                    buffer[k++] = amounts[indices[j]] > amounts[indices[i]] ? indices[j++] : indices[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = indices[i++];
+                }
+                while (j < right) {
+                    buffer[k++] = indices[j++];
+                }
+                System.arraycopy(buffer, left, indices, left, right - left);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.axelnyman.main.domain.utils;
+
+import org.example.axelnyman.main.domain.model.*;
+
+import java.util.List;
+
+/**
+ * Turns a budget's line items into the transfers that balance its accounts.
+ * Implementations must be pure: no side effects or database access.
+ */
+@FunctionalInterface
+public interface TransferStrategy {
+
+    List<TransferPlan> calculateTransfers(
+            Budget budget,
+            List<BudgetIncome> income,
+            List<BudgetExpense> expenses,
+            List<BudgetSavings> savings
+    );
+}
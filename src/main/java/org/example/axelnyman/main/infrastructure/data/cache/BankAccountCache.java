@@ -0,0 +1,181 @@
+package org.example.axelnyman.main.infrastructure.data.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.axelnyman.main.domain.model.BankAccount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of committed {@link BankAccount} state for read-only lookups.
+ *
+ * <p>Entries are detached copies and every hit returns a fresh copy, so callers can never
+ * mutate shared state. Correctness rules:
+ * <ul>
+ *   <li>Every write path in {@code DataService} evicts the account immediately and again
+ *       after its transaction completes, so commits and rollbacks are both observed.</li>
+ *   <li>Accounts evicted inside the current transaction bypass the cache until it ends,
+ *       so a transaction always reads its own writes.</li>
+ *   <li>The cache is only populated outside read-write transactions, where the persistence
+ *       context cannot hold uncommitted account changes.</li>
+ *   <li>A load that overlaps an eviction is not stored (generation check), so a reader
+ *       cannot put back the state a concurrent commit just replaced.</li>
+ * </ul>
+ */
+@Component
+public class BankAccountCache {
+
+    private final Cache<UUID, BankAccount> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public BankAccountCache(
+            @Value("${app.cache.bank-accounts.maximum-size:1000}") long maximumSize,
+            @Value("${app.cache.bank-accounts.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bankAccounts");
+    }
+
+    public Optional<BankAccount> get(UUID id, Function<UUID, Optional<BankAccount>> loader) {
+        if (isDirtyInCurrentTransaction(id)) {
+            return loader.apply(id);
+        }
+
+        BankAccount cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+
+        long loadGeneration = generation.get();
+        Optional<BankAccount> loaded = loader.apply(id);
+        loaded.ifPresent(account -> put(account, loadGeneration));
+        return loaded;
+    }
+
+    /**
+     * Batch lookup: cached accounts are copied, the rest are loaded with a single call to
+     * {@code loader}. Ids with no account are absent from the result.
+     */
+    public List<BankAccount> getAll(Collection<UUID> ids, Function<List<UUID>, List<BankAccount>> loader) {
+        List<BankAccount> result = new ArrayList<>(ids.size());
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : new HashSet<>(ids)) {
+            BankAccount cached = isDirtyInCurrentTransaction(id) ? null : cache.getIfPresent(id);
+            if (cached != null) {
+                result.add(copyOf(cached));
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long loadGeneration = generation.get();
+            for (BankAccount account : loader.apply(misses)) {
+                if (!isDirtyInCurrentTransaction(account.getId())) {
+                    put(account, loadGeneration);
+                }
+                result.add(account);
+            }
+        }
+        return result;
+    }
+
+    // Seeds the cache from a list read elsewhere (e.g. the account list), under the same rules as a load
+    public void putAll(Collection<BankAccount> accounts) {
+        long loadGeneration = generation.get();
+        for (BankAccount account : accounts) {
+            if (!isDirtyInCurrentTransaction(account.getId())) {
+                put(account, loadGeneration);
+            }
+        }
+    }
+
+    public void evict(UUID id) {
+        evictNow(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            dirtyInCurrentTransaction().add(id);
+        }
+    }
+
+    public void evictAll(Collection<UUID> ids) {
+        ids.forEach(this::evict);
+    }
+
+    private void evictNow(UUID id) {
+        // Bump first: a load that started before this point will not be stored
+        generation.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    private void put(BankAccount account, long loadGeneration) {
+        if (!canPopulate()) {
+            return;
+        }
+        BankAccount snapshot = copyOf(account);
+        cache.asMap().compute(account.getId(),
+                (id, existing) -> generation.get() == loadGeneration ? snapshot : existing);
+    }
+
+    private boolean canPopulate() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private boolean isDirtyInCurrentTransaction(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        Set<UUID> dirty = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        return dirty != null && dirty.contains(id);
+    }
+
+    // Ids evicted in the current transaction; evicted once more when it completes
+    private Set<UUID> dirtyInCurrentTransaction() {
+        @SuppressWarnings("unchecked")
+        Set<UUID> dirty = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (dirty == null) {
+            Set<UUID> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BankAccountCache.this);
+                    created.forEach(BankAccountCache.this::evictNow);
+                }
+            });
+            dirty = created;
+        }
+        return dirty;
+    }
+
+    private static BankAccount copyOf(BankAccount account) {
+        BankAccount copy = new BankAccount(account.getName(), account.getDescription(), account.getCurrentBalance());
+        copy.setId(account.getId());
+        copy.setCreatedAt(account.getCreatedAt());
+        copy.setUpdatedAt(account.getUpdatedAt());
+        copy.setDeletedAt(account.getDeletedAt());
+        copy.setVersion(account.getVersion());
+        return copy;
+    }
+}
@@ -8,11 +8,16 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BalanceHistoryRepository extends JpaRepository<BalanceHistory, UUID> {
@@ -25,4 +30,28 @@ public interface BalanceHistoryRepository extends JpaRepository<BalanceHistory,
     void deleteAllByBudgetId(UUID budgetId);
 
     Page<BalanceHistory> findAllByBankAccountIdOrderByChangeDateDescCreatedAtDesc(UUID bankAccountId, Pageable pageable);
+
+    // Keyset pages over (change_date, created_at, id) DESC, served by idx_balance_history_account_keyset.
+    // No count query and no OFFSET, so every page costs the same regardless of depth.
+    @Query(value = "SELECT * FROM balance_history WHERE bank_account_id = :bankAccountId " +
+                   "ORDER BY change_date DESC, created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<BalanceHistory> findFirstKeysetPage(UUID bankAccountId, int limit);
+
+    @Query(value = "SELECT * FROM balance_history WHERE bank_account_id = :bankAccountId " +
+                   "AND (change_date, created_at, id) < (:changeDate, :createdAt, :id) " +
+                   "ORDER BY change_date DESC, created_at DESC, id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<BalanceHistory> findKeysetPageAfter(UUID bankAccountId, LocalDate changeDate, LocalDateTime createdAt,
+                                             UUID id, int limit);
+
+    // Server-side cursor: rows arrive in fetch-size batches and are never dirty-checked.
+    // Must be consumed inside a (read-only) transaction and closed afterwards.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT bh FROM BalanceHistory bh WHERE bh.bankAccountId = :bankAccountId " +
+           "ORDER BY bh.changeDate DESC, bh.createdAt DESC, bh.id DESC")
+    Stream<BalanceHistory> streamAllByBankAccountId(UUID bankAccountId);
 }
@@ -20,19 +20,39 @@ public interface BudgetRepository extends JpaRepository<Budget, UUID> {
 
     boolean existsByStatusAndDeletedAtIsNull(BudgetStatus status);
 
+    /**
+     * Whether any income, expense or savings line of a non-deleted UNLOCKED budget references
+     * the account. One statement: EXISTS short-circuits on the first matching branch.
+     */
+    @Query(value = "SELECT EXISTS (" +
+                   "SELECT 1 FROM budget_income bi JOIN budgets b ON b.id = bi.budget_id " +
+                   "WHERE bi.bank_account_id = :bankAccountId AND b.status = 'UNLOCKED' AND b.deleted_at IS NULL " +
+                   "UNION ALL " +
+                   "SELECT 1 FROM budget_expenses be JOIN budgets b ON b.id = be.budget_id " +
+                   "WHERE be.bank_account_id = :bankAccountId AND b.status = 'UNLOCKED' AND b.deleted_at IS NULL " +
+                   "UNION ALL " +
+                   "SELECT 1 FROM budget_savings bs JOIN budgets b ON b.id = bs.budget_id " +
+                   "WHERE bs.bank_account_id = :bankAccountId AND b.status = 'UNLOCKED' AND b.deleted_at IS NULL" +
+                   ")",
+           nativeQuery = true)
+    boolean existsUnlockedBudgetLinkedToBankAccount(@Param("bankAccountId") UUID bankAccountId);
+
     List<Budget> findAllByDeletedAtIsNullOrderByYearDescMonthDesc();
 
     Optional<Budget> findFirstByDeletedAtIsNullOrderByYearDescMonthDesc();
 
-    @Query("SELECT DISTINCT b FROM Budget b " +
-           "JOIN BudgetExpense be ON be.budgetId = b.id " +
-           "WHERE b.status = 'LOCKED' " +
-           "AND b.deletedAt IS NULL " +
-           "AND be.recurringExpenseId = :recurringExpenseId " +
-           "AND b.id <> :excludeBudgetId " +
+    /**
+     * Loads all non-deleted budgets together with their materialized totals (budget_totals)
+     * in a single statement. Each row is [Budget, totalIncome, totalExpenses, totalSavings];
+     * budgets without a totals row have no line items and report zeros.
+     */
+    @Query("SELECT b, " +
+           "COALESCE(bt.totalIncome, 0), " +
+           "COALESCE(bt.totalExpenses, 0), " +
+           "COALESCE(bt.totalSavings, 0) " +
+           "FROM Budget b " +
+           "LEFT JOIN BudgetTotals bt ON bt.budgetId = b.id " +
+           "WHERE b.deletedAt IS NULL " +
            "ORDER BY b.year DESC, b.month DESC")
-    List<Budget> findLockedBudgetsUsingRecurringExpense(
-        @Param("recurringExpenseId") UUID recurringExpenseId,
-        @Param("excludeBudgetId") UUID excludeBudgetId
-    );
+    List<Object[]> findAllWithTotalsByDeletedAtIsNullOrderByYearDescMonthDesc();
 }
@@ -0,0 +1,67 @@
+package org.example.axelnyman.main.infrastructure.data.context;
+
+import org.example.axelnyman.main.domain.model.BudgetTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BudgetTotalsRepository extends JpaRepository<BudgetTotals, UUID> {
+
+    /**
+     * Atomically adds the given deltas to a budget's totals, creating the row on first write.
+     * Deltas may be negative (updates to a smaller amount, deletes).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO budget_totals (budget_id, total_income, total_expenses, total_savings, updated_at) " +
+                   "VALUES (:budgetId, :incomeDelta, :expensesDelta, :savingsDelta, NOW()) " +
+                   "ON CONFLICT (budget_id) DO UPDATE SET " +
+                   "total_income = budget_totals.total_income + EXCLUDED.total_income, " +
+                   "total_expenses = budget_totals.total_expenses + EXCLUDED.total_expenses, " +
+                   "total_savings = budget_totals.total_savings + EXCLUDED.total_savings, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    void applyDelta(@Param("budgetId") UUID budgetId,
+                    @Param("incomeDelta") BigDecimal incomeDelta,
+                    @Param("expensesDelta") BigDecimal expensesDelta,
+                    @Param("savingsDelta") BigDecimal savingsDelta);
+
+    /**
+     * Recomputes every budget's totals from its line items, overwriting the projection.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO budget_totals (budget_id, total_income, total_expenses, total_savings, updated_at) " +
+                   "SELECT b.id, " +
+                   "COALESCE((SELECT SUM(bi.amount) FROM budget_income bi WHERE bi.budget_id = b.id), 0), " +
+                   "COALESCE((SELECT SUM(be.amount) FROM budget_expenses be WHERE be.budget_id = b.id), 0), " +
+                   "COALESCE((SELECT SUM(bs.amount) FROM budget_savings bs WHERE bs.budget_id = b.id), 0), " +
+                   "NOW() " +
+                   "FROM budgets b " +
+                   "ON CONFLICT (budget_id) DO UPDATE SET " +
+                   "total_income = EXCLUDED.total_income, " +
+                   "total_expenses = EXCLUDED.total_expenses, " +
+                   "total_savings = EXCLUDED.total_savings, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int rebuildAll();
+
+    /**
+     * Returns the ids of budgets whose projected totals differ from the sum of their line items.
+     * A missing projection row counts as all-zero totals.
+     */
+    @Query("SELECT b.id FROM Budget b " +
+           "LEFT JOIN BudgetTotals bt ON bt.budgetId = b.id " +
+           "WHERE COALESCE(bt.totalIncome, 0) <> " +
+           "(SELECT COALESCE(SUM(bi.amount), 0) FROM BudgetIncome bi WHERE bi.budgetId = b.id) " +
+           "OR COALESCE(bt.totalExpenses, 0) <> " +
+           "(SELECT COALESCE(SUM(be.amount), 0) FROM BudgetExpense be WHERE be.budgetId = b.id) " +
+           "OR COALESCE(bt.totalSavings, 0) <> " +
+           "(SELECT COALESCE(SUM(bs.amount), 0) FROM BudgetSavings bs WHERE bs.budgetId = b.id)")
+    List<UUID> findBudgetIdsWithDriftedTotals();
+}
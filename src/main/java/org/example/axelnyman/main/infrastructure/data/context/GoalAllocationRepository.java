@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,8 +17,19 @@ public interface GoalAllocationRepository extends JpaRepository<GoalAllocation,
 
     List<GoalAllocation> findAllBySavingsGoalId(UUID savingsGoalId);
 
+    List<GoalAllocation> findAllBySavingsGoalIdIn(Collection<UUID> savingsGoalIds);
+
     List<GoalAllocation> findAllByBankAccountId(UUID bankAccountId);
 
+    /**
+     * An account's allocations together with the name of each backing goal, as rows of
+     * [GoalAllocation, goalName]. The name is null when the goal has been soft-deleted.
+     */
+    @Query("SELECT ga, sg.name FROM GoalAllocation ga " +
+           "LEFT JOIN SavingsGoal sg ON sg.id = ga.savingsGoalId AND sg.deletedAt IS NULL " +
+           "WHERE ga.bankAccountId = :bankAccountId")
+    List<Object[]> findAllByBankAccountIdWithGoalName(@Param("bankAccountId") UUID bankAccountId);
+
     Optional<GoalAllocation> findBySavingsGoalIdAndBankAccountId(UUID savingsGoalId, UUID bankAccountId);
 
     @Query("SELECT COALESCE(SUM(ga.amount), 0) FROM GoalAllocation ga WHERE ga.bankAccountId = :bankAccountId")
@@ -0,0 +1,55 @@
+package org.example.axelnyman.main.infrastructure.data.context;
+
+import org.example.axelnyman.main.domain.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Inserts a reservation unless the key already exists; returns 1 if this call reserved it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, reserved_at) " +
+                   "VALUES (:key, :requestHash, :createdAt, :createdAt) " +
+                   "ON CONFLICT (idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int reserve(@Param("key") String key,
+                @Param("requestHash") String requestHash,
+                @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Takes over a reservation whose request never completed and was reserved before
+     * {@code staleBefore}; returns 1 if this call took it.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.requestHash = :requestHash, k.createdAt = :now, k.reservedAt = :now " +
+           "WHERE k.key = :key AND k.responseStatus IS NULL AND k.reservedAt < :staleBefore")
+    int reclaimStale(@Param("key") String key,
+                     @Param("requestHash") String requestHash,
+                     @Param("now") LocalDateTime now,
+                     @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseStatus = :status, " +
+           "k.responseContentType = :contentType, k.responseBody = :body " +
+           "WHERE k.key = :key")
+    void complete(@Param("key") String key,
+                  @Param("status") int status,
+                  @Param("contentType") String contentType,
+                  @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.responseStatus IS NULL")
+    void deleteReservation(@Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,22 @@
+package org.example.axelnyman.main.infrastructure.data.context;
+
+import org.example.axelnyman.main.domain.model.MonthlyBudgetSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface MonthlyBudgetSummaryRepository extends JpaRepository<MonthlyBudgetSummary, UUID> {
+
+    // Most recent locked months first; a backward scan of uk_monthly_budget_summary_year_month
+    List<MonthlyBudgetSummary> findAllByOrderByYearDescMonthDesc(Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyBudgetSummary s WHERE s.budgetId = :budgetId")
+    void deleteByBudgetId(UUID budgetId);
+}
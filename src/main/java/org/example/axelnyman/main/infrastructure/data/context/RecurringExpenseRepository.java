@@ -2,8 +2,13 @@ package org.example.axelnyman.main.infrastructure.data.context;
 
 import org.example.axelnyman.main.domain.model.RecurringExpense;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +17,54 @@ public interface RecurringExpenseRepository extends JpaRepository<RecurringExpen
     boolean existsByNameAndDeletedAtIsNull(String name);
     boolean existsByNameAndDeletedAtIsNullAndIdNot(String name, UUID id);
     List<RecurringExpense> findAllByDeletedAtIsNull();
+
+    /**
+     * Marks the given active recurring expenses as last used by a budget.
+     * Returns the number of rows updated; soft-deleted or missing ids are not counted.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RecurringExpense re SET " +
+           "re.lastUsedBudgetId = :budgetId, " +
+           "re.lastUsedMonth = :month, " +
+           "re.lastUsedYear = :year, " +
+           "re.updatedAt = :updatedAt " +
+           "WHERE re.id IN :ids AND re.deletedAt IS NULL")
+    int markLastUsedByBudget(@Param("ids") Collection<UUID> ids,
+                             @Param("budgetId") UUID budgetId,
+                             @Param("month") Integer month,
+                             @Param("year") Integer year,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * For every active recurring expense used by the budget and last used by it, points
+     * lastUsed* back at the most recent other LOCKED budget that used the expense, or
+     * clears them when there is none. The previous budget per expense is picked with
+     * DISTINCT ON ordered by year/month desc, so the whole restore is one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE recurring_expenses re SET " +
+                   "last_used_budget_id = prev.budget_id, " +
+                   "last_used_month = prev.month, " +
+                   "last_used_year = prev.year, " +
+                   "updated_at = :updatedAt " +
+                   "FROM recurring_expenses target " +
+                   "LEFT JOIN (" +
+                   "SELECT DISTINCT ON (be.recurring_expense_id) " +
+                   "be.recurring_expense_id, b.id AS budget_id, b.month, b.year " +
+                   "FROM budget_expenses be " +
+                   "JOIN budgets b ON b.id = be.budget_id " +
+                   "WHERE b.status = 'LOCKED' " +
+                   "AND b.deleted_at IS NULL " +
+                   "AND b.id <> :budgetId " +
+                   "AND be.recurring_expense_id IN " +
+                   "(SELECT recurring_expense_id FROM budget_expenses WHERE budget_id = :budgetId) " +
+                   "ORDER BY be.recurring_expense_id, b.year DESC, b.month DESC" +
+                   ") prev ON prev.recurring_expense_id = target.id " +
+                   "WHERE re.id = target.id " +
+                   "AND re.deleted_at IS NULL " +
+                   "AND re.last_used_budget_id = :budgetId " +
+                   "AND re.id IN (SELECT recurring_expense_id FROM budget_expenses WHERE budget_id = :budgetId)",
+           nativeQuery = true)
+    int restoreLastUsedFromPreviousLockedBudget(@Param("budgetId") UUID budgetId,
+                                                @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -2,6 +2,8 @@ package org.example.axelnyman.main.infrastructure.data.context;
 
 import org.example.axelnyman.main.domain.model.TodoItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,17 @@ public interface TodoItemRepository extends JpaRepository<TodoItem, UUID> {
      * @return List of todo items
      */
     List<TodoItem> findAllByTodoListId(UUID todoListId);
+
+    /**
+     * Find all todo items belonging to a todo list, with their from/to bank accounts
+     * fetched in the same query.
+     *
+     * @param todoListId The todo list ID
+     * @return List of todo items with accounts initialized
+     */
+    @Query("SELECT ti FROM TodoItem ti " +
+           "LEFT JOIN FETCH ti.fromAccount " +
+           "LEFT JOIN FETCH ti.toAccount " +
+           "WHERE ti.todoListId = :todoListId")
+    List<TodoItem> findAllByTodoListIdWithAccounts(@Param("todoListId") UUID todoListId);
 }
@@ -8,27 +8,38 @@ import org.example.axelnyman.main.domain.model.BudgetExpense;
 import org.example.axelnyman.main.domain.model.BudgetIncome;
 import org.example.axelnyman.main.domain.model.BudgetSavings;
 import org.example.axelnyman.main.domain.model.BudgetStatus;
+import org.example.axelnyman.main.domain.model.BudgetTotals;
 import org.example.axelnyman.main.domain.model.GoalAllocation;
 import org.example.axelnyman.main.domain.model.GoalAllocationChange;
+import org.example.axelnyman.main.domain.model.IdempotencyKey;
+import org.example.axelnyman.main.domain.model.MonthlyBudgetSummary;
 import org.example.axelnyman.main.domain.model.RecurringExpense;
 import org.example.axelnyman.main.domain.model.SavingsGoal;
 import org.example.axelnyman.main.domain.model.TodoItem;
 import org.example.axelnyman.main.domain.model.TodoList;
+import org.example.axelnyman.main.infrastructure.data.cache.BankAccountCache;
 import org.example.axelnyman.main.infrastructure.data.context.BalanceHistoryRepository;
 import org.example.axelnyman.main.infrastructure.data.context.BankAccountRepository;
 import org.example.axelnyman.main.infrastructure.data.context.GoalAllocationChangeRepository;
 import org.example.axelnyman.main.infrastructure.data.context.GoalAllocationRepository;
+import org.example.axelnyman.main.infrastructure.data.context.IdempotencyKeyRepository;
 import org.example.axelnyman.main.infrastructure.data.context.SavingsGoalRepository;
 import org.example.axelnyman.main.infrastructure.data.context.BudgetExpenseRepository;
 import org.example.axelnyman.main.infrastructure.data.context.BudgetIncomeRepository;
 import org.example.axelnyman.main.infrastructure.data.context.BudgetRepository;
 import org.example.axelnyman.main.infrastructure.data.context.BudgetSavingsRepository;
+import org.example.axelnyman.main.infrastructure.data.context.BudgetTotalsRepository;
+import org.example.axelnyman.main.infrastructure.data.context.MonthlyBudgetSummaryRepository;
 import org.example.axelnyman.main.infrastructure.data.context.RecurringExpenseRepository;
 import org.example.axelnyman.main.infrastructure.data.context.TodoItemRepository;
 import org.example.axelnyman.main.infrastructure.data.context.TodoListRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -48,6 +59,12 @@ public class DataService implements IDataService {
     private final SavingsGoalRepository savingsGoalRepository;
     private final GoalAllocationRepository goalAllocationRepository;
     private final GoalAllocationChangeRepository goalAllocationChangeRepository;
+    private final BudgetTotalsRepository budgetTotalsRepository;
+    private final MonthlyBudgetSummaryRepository monthlyBudgetSummaryRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final BankAccountCache bankAccountCache;
 
     public DataService(BankAccountRepository bankAccountRepository,
                       BalanceHistoryRepository balanceHistoryRepository,
@@ -60,7 +77,13 @@ public class DataService implements IDataService {
                       TodoItemRepository todoItemRepository,
                       SavingsGoalRepository savingsGoalRepository,
                       GoalAllocationRepository goalAllocationRepository,
-                      GoalAllocationChangeRepository goalAllocationChangeRepository) {
+                      GoalAllocationChangeRepository goalAllocationChangeRepository,
+                      BudgetTotalsRepository budgetTotalsRepository,
+                      MonthlyBudgetSummaryRepository monthlyBudgetSummaryRepository,
+                      IdempotencyKeyRepository idempotencyKeyRepository,
+                      JdbcTemplate jdbcTemplate,
+                      EntityManager entityManager,
+                      BankAccountCache bankAccountCache) {
         this.bankAccountRepository = bankAccountRepository;
         this.balanceHistoryRepository = balanceHistoryRepository;
         this.recurringExpenseRepository = recurringExpenseRepository;
@@ -73,11 +96,19 @@ public class DataService implements IDataService {
         this.savingsGoalRepository = savingsGoalRepository;
         this.goalAllocationRepository = goalAllocationRepository;
         this.goalAllocationChangeRepository = goalAllocationChangeRepository;
+        this.budgetTotalsRepository = budgetTotalsRepository;
+        this.monthlyBudgetSummaryRepository = monthlyBudgetSummaryRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.bankAccountCache = bankAccountCache;
     }
 
     @Override
     public BankAccount saveBankAccount(BankAccount bankAccount) {
-        return bankAccountRepository.save(bankAccount);
+        BankAccount saved = bankAccountRepository.save(bankAccount);
+        bankAccountCache.evict(saved.getId());
+        return saved;
     }
 
     @Override
@@ -92,7 +123,10 @@ public class DataService implements IDataService {
 
     @Override
     public java.util.List<BankAccount> getAllActiveBankAccounts() {
-        return bankAccountRepository.findAllByDeletedAtIsNull();
+        java.util.List<BankAccount> accounts = bankAccountRepository.findAllByDeletedAtIsNull();
+        // The account list is the usual first read; it seeds the lookup cache for free
+        bankAccountCache.putAll(accounts);
+        return accounts;
     }
 
     @Override
@@ -100,11 +134,14 @@ public class DataService implements IDataService {
         return bankAccountRepository.findById(id);
     }
 
+    @Override
+    public java.util.Optional<BankAccount> getBankAccountSnapshotById(java.util.UUID id) {
+        return bankAccountCache.get(id, bankAccountRepository::findById);
+    }
+
     @Override
     public boolean isAccountLinkedToUnlockedBudget(java.util.UUID accountId) {
-        return budgetIncomeRepository.existsByBankAccountIdAndBudget_Status(accountId, BudgetStatus.UNLOCKED) ||
-               budgetExpenseRepository.existsByBankAccountIdAndBudget_Status(accountId, BudgetStatus.UNLOCKED) ||
-               budgetSavingsRepository.existsByBankAccountIdAndBudget_Status(accountId, BudgetStatus.UNLOCKED);
+        return budgetRepository.existsUnlockedBudgetLinkedToBankAccount(accountId);
     }
 
     @Override
@@ -113,6 +150,7 @@ public class DataService implements IDataService {
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         account.setDeletedAt(LocalDateTime.now());
         bankAccountRepository.save(account);
+        bankAccountCache.evict(accountId);
     }
 
     @Override
@@ -159,11 +197,86 @@ public class DataService implements IDataService {
         return balanceHistoryRepository.findAllByBankAccountIdOrderByChangeDateDescCreatedAtDesc(bankAccountId, pageable);
     }
 
+    @Override
+    public java.util.List<BalanceHistory> getBalanceHistoryKeysetPage(java.util.UUID bankAccountId,
+                                                                     LocalDate afterChangeDate,
+                                                                     java.time.LocalDateTime afterCreatedAt,
+                                                                     java.util.UUID afterId, int limit) {
+        if (afterId == null) {
+            return balanceHistoryRepository.findFirstKeysetPage(bankAccountId, limit);
+        }
+        return balanceHistoryRepository.findKeysetPageAfter(
+                bankAccountId, afterChangeDate, afterCreatedAt, afterId, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamBalanceHistory(java.util.UUID bankAccountId,
+                                     java.util.function.Consumer<BalanceHistory> consumer) {
+        try (java.util.stream.Stream<BalanceHistory> rows =
+                     balanceHistoryRepository.streamAllByBankAccountId(bankAccountId)) {
+            rows.forEach(row -> {
+                consumer.accept(row);
+                entityManager.detach(row);
+            });
+        }
+    }
+
     @Override
     public java.util.Optional<LocalDate> getMostRecentBalanceHistoryDate(java.util.UUID bankAccountId) {
         return balanceHistoryRepository.findMostRecentChangeDateByBankAccountId(bankAccountId);
     }
 
+    // One point per bucket start between the truncated "from" and "to"
+    private static final String SERIES_BUCKETS =
+            "generate_series(date_trunc(?, CAST(? AS timestamp)), CAST(? AS timestamp), CAST(? AS interval)) " +
+            "AS b(bucket_start) ";
+
+    // Latest balance recorded before the bucket ends (clipped to the day after "to");
+    // a single seek on idx_balance_history_account_keyset per account and bucket
+    private static final String LATEST_BALANCE_IN_BUCKET =
+            "SELECT bh.balance FROM balance_history bh " +
+            "WHERE bh.bank_account_id = %s " +
+            "AND bh.change_date < CAST(LEAST(b.bucket_start + CAST(? AS interval), " +
+            "CAST(? AS timestamp) + INTERVAL '1 day') AS date) " +
+            "ORDER BY bh.change_date DESC, bh.created_at DESC, bh.id DESC " +
+            "LIMIT 1";
+
+    @Override
+    public java.util.Map<LocalDate, java.math.BigDecimal> getBalanceSeries(
+            java.util.UUID bankAccountId, LocalDate from, LocalDate to, String bucketUnit) {
+        String step = "1 " + bucketUnit;
+        String sql = "SELECT CAST(b.bucket_start AS date) AS bucket, h.balance " +
+                     "FROM " + SERIES_BUCKETS +
+                     "JOIN LATERAL (" + LATEST_BALANCE_IN_BUCKET.formatted("?") + ") h ON TRUE " +
+                     "ORDER BY b.bucket_start";
+
+        java.util.Map<LocalDate, java.math.BigDecimal> series = new java.util.LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            series.put(rs.getObject("bucket", LocalDate.class), rs.getBigDecimal("balance"));
+        }, bucketUnit, from, to, step, bankAccountId, step, to);
+        return series;
+    }
+
+    @Override
+    public java.util.Map<LocalDate, java.math.BigDecimal> getNetWorthSeries(
+            LocalDate from, LocalDate to, String bucketUnit) {
+        String step = "1 " + bucketUnit;
+        String sql = "SELECT CAST(b.bucket_start AS date) AS bucket, SUM(h.balance) AS balance " +
+                     "FROM " + SERIES_BUCKETS +
+                     "CROSS JOIN bank_accounts a " +
+                     "JOIN LATERAL (" + LATEST_BALANCE_IN_BUCKET.formatted("a.id") + ") h ON TRUE " +
+                     "WHERE a.deleted_at IS NULL " +
+                     "GROUP BY b.bucket_start " +
+                     "ORDER BY b.bucket_start";
+
+        java.util.Map<LocalDate, java.math.BigDecimal> series = new java.util.LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            series.put(rs.getObject("bucket", LocalDate.class), rs.getBigDecimal("balance"));
+        }, bucketUnit, from, to, step, step, to);
+        return series;
+    }
+
     @Override
     public Budget saveBudget(Budget budget) {
         return budgetRepository.save(budget);
@@ -189,6 +302,11 @@ public class DataService implements IDataService {
         return budgetRepository.findAllByDeletedAtIsNullOrderByYearDescMonthDesc();
     }
 
+    @Override
+    public java.util.List<Object[]> getAllBudgetsWithTotalsSorted() {
+        return budgetRepository.findAllWithTotalsByDeletedAtIsNullOrderByYearDescMonthDesc();
+    }
+
     @Override
     public java.util.Optional<Budget> getBudgetById(java.util.UUID id) {
         return budgetRepository.findById(id)
@@ -272,6 +390,48 @@ public class DataService implements IDataService {
         return budgetSavingsRepository.sumAmountByBudgetId(budgetId);
     }
 
+    // Materialized budget totals (budget_totals projection)
+    @Override
+    public void adjustBudgetTotals(java.util.UUID budgetId, java.math.BigDecimal incomeDelta,
+                                   java.math.BigDecimal expensesDelta, java.math.BigDecimal savingsDelta) {
+        budgetTotalsRepository.applyDelta(budgetId, incomeDelta, expensesDelta, savingsDelta);
+    }
+
+    @Override
+    public java.util.Optional<BudgetTotals> getBudgetTotals(java.util.UUID budgetId) {
+        return budgetTotalsRepository.findById(budgetId);
+    }
+
+    @Override
+    public java.util.List<java.util.UUID> getBudgetIdsWithDriftedTotals() {
+        return budgetTotalsRepository.findBudgetIdsWithDriftedTotals();
+    }
+
+    @Override
+    public int rebuildBudgetTotals() {
+        return budgetTotalsRepository.rebuildAll();
+    }
+
+    @Override
+    public long countBudgets() {
+        return budgetRepository.count();
+    }
+
+    @Override
+    public MonthlyBudgetSummary saveMonthlyBudgetSummary(MonthlyBudgetSummary summary) {
+        return monthlyBudgetSummaryRepository.save(summary);
+    }
+
+    @Override
+    public void deleteMonthlyBudgetSummary(java.util.UUID budgetId) {
+        monthlyBudgetSummaryRepository.deleteByBudgetId(budgetId);
+    }
+
+    @Override
+    public java.util.List<MonthlyBudgetSummary> getRecentMonthlyBudgetSummaries(int months) {
+        return monthlyBudgetSummaryRepository.findAllByOrderByYearDescMonthDesc(Limit.of(months));
+    }
+
     // Budget Delete operations (Story 22)
     @Override
     public void deleteBudget(java.util.UUID id) {
@@ -304,6 +464,11 @@ public class DataService implements IDataService {
         return todoItemRepository.save(todoItem);
     }
 
+    @Override
+    public java.util.List<TodoItem> saveTodoItems(java.util.List<TodoItem> todoItems) {
+        return todoItemRepository.saveAll(todoItems);
+    }
+
     @Override
     public java.util.Optional<TodoList> getTodoListByBudgetId(java.util.UUID budgetId) {
         return todoListRepository.findByBudgetId(budgetId);
@@ -311,7 +476,7 @@ public class DataService implements IDataService {
 
     @Override
     public java.util.List<TodoItem> getTodoItemsByTodoListId(java.util.UUID todoListId) {
-        return todoItemRepository.findAllByTodoListId(todoListId);
+        return todoItemRepository.findAllByTodoListIdWithAccounts(todoListId);
     }
 
     @Override
@@ -355,10 +520,19 @@ public class DataService implements IDataService {
     }
 
     @Override
-    public java.util.List<Budget> findLockedBudgetsUsingRecurringExpense(
-            java.util.UUID recurringExpenseId,
-            java.util.UUID excludeBudgetId) {
-        return budgetRepository.findLockedBudgetsUsingRecurringExpense(recurringExpenseId, excludeBudgetId);
+    public int restoreRecurringExpensesLastUsed(java.util.UUID budgetId) {
+        return recurringExpenseRepository.restoreLastUsedFromPreviousLockedBudget(budgetId, LocalDateTime.now());
+    }
+
+    // Budget Lock operations - recurring expense bookkeeping
+    @Override
+    public int markRecurringExpensesLastUsed(java.util.List<java.util.UUID> recurringExpenseIds,
+                                             java.util.UUID budgetId, Integer month, Integer year) {
+        if (recurringExpenseIds.isEmpty()) {
+            return 0;
+        }
+        return recurringExpenseRepository.markLastUsedByBudget(
+                recurringExpenseIds, budgetId, month, year, LocalDateTime.now());
     }
 
     // Bank Account batch lookup
@@ -367,6 +541,66 @@ public class DataService implements IDataService {
         return bankAccountRepository.findAllById(ids);
     }
 
+    @Override
+    public java.util.List<BankAccount> getBankAccountSnapshotsByIds(java.util.List<java.util.UUID> ids) {
+        return bankAccountCache.getAll(ids, bankAccountRepository::findAllById);
+    }
+
+    // Bulk balance operations (budget lock/unlock)
+    /**
+     * Adds each delta to its account's current balance in a single
+     * {@code UPDATE ... FROM (VALUES ...)} statement and returns the resulting
+     * balances keyed by account id. Ids that match no account are absent from the result.
+     * Pending entity changes are flushed first, and any managed copies of the
+     * updated accounts are detached so later reads see the new balances. The
+     * optimistic-lock version is bumped, so an entity write based on a read taken
+     * before this update fails rather than overwriting the new balance.
+     */
+    @Override
+    public java.util.Map<java.util.UUID, java.math.BigDecimal> applyBalanceDeltas(
+            java.util.Map<java.util.UUID, java.math.BigDecimal> deltasByAccountId) {
+        if (deltasByAccountId.isEmpty()) {
+            return java.util.Map.of();
+        }
+
+        // Stable row order so concurrent bulk updates lock accounts in the same sequence
+        java.util.List<java.util.UUID> accountIds = deltasByAccountId.keySet().stream().sorted().toList();
+
+        java.util.List<Object> args = new java.util.ArrayList<>();
+        args.add(LocalDateTime.now());
+        java.util.StringJoiner values = new java.util.StringJoiner(", ");
+        for (java.util.UUID accountId : accountIds) {
+            values.add("(?::uuid, ?::numeric)");
+            args.add(accountId);
+            args.add(deltasByAccountId.get(accountId));
+        }
+
+        String sql = "UPDATE bank_accounts AS b " +
+                     "SET current_balance = b.current_balance + v.delta, updated_at = ?, version = b.version + 1 " +
+                     "FROM (VALUES " + values + ") AS v(id, delta) " +
+                     "WHERE b.id = v.id " +
+                     "RETURNING b.id, b.current_balance";
+
+        entityManager.flush();
+
+        java.util.Map<java.util.UUID, java.math.BigDecimal> newBalances = new java.util.HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            newBalances.put(rs.getObject("id", java.util.UUID.class), rs.getBigDecimal("current_balance"));
+        }, args.toArray());
+
+        for (java.util.UUID accountId : accountIds) {
+            entityManager.detach(entityManager.getReference(BankAccount.class, accountId));
+        }
+        bankAccountCache.evictAll(accountIds);
+
+        return newBalances;
+    }
+
+    @Override
+    public java.util.List<BalanceHistory> saveBalanceHistories(java.util.List<BalanceHistory> balanceHistories) {
+        return balanceHistoryRepository.saveAll(balanceHistories);
+    }
+
     // Savings Goal operations (item 070a)
     @Override
     public SavingsGoal saveSavingsGoal(SavingsGoal savingsGoal) {
@@ -406,11 +640,24 @@ public class DataService implements IDataService {
         return goalAllocationRepository.findAllBySavingsGoalId(savingsGoalId);
     }
 
+    @Override
+    public java.util.List<GoalAllocation> getGoalAllocationsByGoalIds(java.util.List<java.util.UUID> savingsGoalIds) {
+        if (savingsGoalIds.isEmpty()) {
+            return java.util.List.of();
+        }
+        return goalAllocationRepository.findAllBySavingsGoalIdIn(savingsGoalIds);
+    }
+
     @Override
     public java.util.List<GoalAllocation> getGoalAllocationsByBankAccountId(java.util.UUID bankAccountId) {
         return goalAllocationRepository.findAllByBankAccountId(bankAccountId);
     }
 
+    @Override
+    public java.util.List<Object[]> getGoalAllocationsWithGoalNameByBankAccountId(java.util.UUID bankAccountId) {
+        return goalAllocationRepository.findAllByBankAccountIdWithGoalName(bankAccountId);
+    }
+
     @Override
     public java.math.BigDecimal sumAllocationsByBankAccountId(java.util.UUID bankAccountId) {
         return goalAllocationRepository.sumAmountByBankAccountId(bankAccountId);
@@ -431,4 +678,94 @@ public class DataService implements IDataService {
     public java.util.List<GoalAllocationChange> getGoalAllocationChangesByGoalId(java.util.UUID savingsGoalId) {
         return goalAllocationChangeRepository.findAllBySavingsGoalIdOrderByCreatedAtDesc(savingsGoalId);
     }
+
+    // Idempotency key operations: each runs and commits on its own, outside any request transaction
+    @Override
+    public java.util.Optional<IdempotencyKey> getIdempotencyKey(String key) {
+        return idempotencyKeyRepository.findById(key);
+    }
+
+    @Override
+    @Transactional
+    public boolean reserveIdempotencyKey(String key, String requestHash, LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyKeyRepository.reserve(key, requestHash, now) == 1
+                || idempotencyKeyRepository.reclaimStale(key, requestHash, now, staleBefore) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void completeIdempotencyKey(String key, int status, String contentType, String body) {
+        idempotencyKeyRepository.complete(key, status, contentType, body);
+    }
+
+    @Override
+    @Transactional
+    public void releaseIdempotencyKey(String key) {
+        idempotencyKeyRepository.deleteReservation(key);
+    }
+
+    @Override
+    @Transactional
+    public int deleteIdempotencyKeysCreatedBefore(LocalDateTime cutoff) {
+        return idempotencyKeyRepository.deleteCreatedBefore(cutoff);
+    }
+
+    // Advisory-lock key for budget lock/unlock ("budglock" in ASCII); one key for all budgets,
+    // since a lock of one month can race the unlock of another
+    private static final long BUDGET_LIFECYCLE_LOCK_KEY = 0x627564676C6F636BL;
+
+    @Override
+    public boolean tryAcquireBudgetLifecycleLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, BUDGET_LIFECYCLE_LOCK_KEY));
+    }
+
+    // Version stamps: row count and summed timestamp per table. Unlike MAX(updated_at) this also
+    // changes on hard deletes and on a commit whose timestamp is older than one already visible.
+    private static String tableStamp(String from, String timestampColumn) {
+        return "(SELECT COUNT(*) || ':' || COALESCE(SUM(EXTRACT(EPOCH FROM " + timestampColumn + ")), 0) " +
+               "FROM " + from + ")";
+    }
+
+    private static final String BANK_ACCOUNTS_STAMP = tableStamp("bank_accounts", "updated_at");
+    private static final String GOAL_ALLOCATIONS_STAMP = tableStamp("goal_allocations", "updated_at");
+
+    @Override
+    public String getBankAccountsVersionStamp() {
+        // Account list responses carry each account's allocated sum
+        return jdbcTemplate.queryForObject(
+                "SELECT " + BANK_ACCOUNTS_STAMP + " || '|' || " + GOAL_ALLOCATIONS_STAMP,
+                String.class);
+    }
+
+    @Override
+    public String getBudgetsVersionStamp() {
+        return jdbcTemplate.queryForObject(
+                "SELECT " + tableStamp("budgets", "updated_at") +
+                " || '|' || " + tableStamp("budget_totals", "updated_at"),
+                String.class);
+    }
+
+    @Override
+    public String getSavingsGoalsVersionStamp() {
+        // Goal responses carry allocations and the names of their accounts
+        return jdbcTemplate.queryForObject(
+                "SELECT " + tableStamp("savings_goals", "updated_at") +
+                " || '|' || " + GOAL_ALLOCATIONS_STAMP + " || '|' || " + BANK_ACCOUNTS_STAMP,
+                String.class);
+    }
+
+    @Override
+    public java.util.Optional<String> getTodoListVersionStamp(java.util.UUID budgetId) {
+        // Todo items carry the names of their accounts; a relock replaces the list and its items.
+        // No row when the budget has no todo list, so callers answer 404 rather than match a tag
+        return jdbcTemplate.queryForList(
+                "SELECT " + tableStamp("todo_lists tl WHERE tl.budget_id = ?", "tl.created_at") +
+                " || '|' || " + tableStamp("todo_items ti JOIN todo_lists tl ON tl.id = ti.todo_list_id " +
+                                           "WHERE tl.budget_id = ?", "ti.updated_at") +
+                " || '|' || " + BANK_ACCOUNTS_STAMP +
+                " WHERE EXISTS (SELECT 1 FROM todo_lists WHERE budget_id = ?)",
+                String.class, budgetId, budgetId, budgetId).stream().findFirst();
+    }
 }
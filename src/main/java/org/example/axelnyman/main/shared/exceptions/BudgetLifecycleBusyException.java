@@ -0,0 +1,7 @@
+package org.example.axelnyman.main.shared.exceptions;
+
+public class BudgetLifecycleBusyException extends RuntimeException {
+    public BudgetLifecycleBusyException(String message) {
+        super(message);
+    }
+}
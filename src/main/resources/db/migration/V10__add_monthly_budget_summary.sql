@@ -0,0 +1,35 @@
+-- V10__add_monthly_budget_summary.sql
+-- Rollup of locked months for the budget trends view: one row per LOCKED budget
+-- with its income, expense and savings totals as of locking. Written by
+-- lockBudget and removed by unlockBudget in the same transaction; line items of
+-- a locked budget cannot change, so a row never goes stale. Trend reads are one
+-- backward range scan over (year, month) instead of summing line items per month.
+-- Rows are removed together with their budget via ON DELETE CASCADE.
+--
+-- Rollback (manual): DROP TABLE monthly_budget_summary;
+
+CREATE TABLE monthly_budget_summary (
+    budget_id UUID PRIMARY KEY,
+    year INTEGER NOT NULL,
+    month INTEGER NOT NULL,
+    total_income NUMERIC(19, 2) NOT NULL,
+    total_expenses NUMERIC(19, 2) NOT NULL,
+    total_savings NUMERIC(19, 2) NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_monthly_budget_summary_budget FOREIGN KEY (budget_id) REFERENCES budgets(id) ON DELETE CASCADE,
+    CONSTRAINT uk_monthly_budget_summary_year_month UNIQUE (year, month)
+);
+
+-- Backfill from budgets that are already locked
+INSERT INTO monthly_budget_summary (budget_id, year, month, total_income, total_expenses, total_savings, locked_at)
+SELECT b.id,
+       b.year,
+       b.month,
+       COALESCE(bt.total_income, 0),
+       COALESCE(bt.total_expenses, 0),
+       COALESCE(bt.total_savings, 0),
+       COALESCE(b.locked_at, NOW())
+FROM budgets b
+LEFT JOIN budget_totals bt ON bt.budget_id = b.id
+WHERE b.status = 'LOCKED'
+  AND b.deleted_at IS NULL;
@@ -0,0 +1,13 @@
+-- V11__add_updated_at_to_todo_items.sql
+-- Todo items are the only rows behind a polled read endpoint without an
+-- updated_at column; status changes set it so the todo list's ETag version
+-- stamp (row count + summed updated_at) changes whenever an item does.
+-- Existing rows start at their last known change.
+--
+-- Rollback (manual): ALTER TABLE todo_items DROP COLUMN updated_at;
+
+ALTER TABLE todo_items ADD COLUMN updated_at TIMESTAMP;
+
+UPDATE todo_items SET updated_at = COALESCE(completed_at, created_at);
+
+ALTER TABLE todo_items ALTER COLUMN updated_at SET NOT NULL;
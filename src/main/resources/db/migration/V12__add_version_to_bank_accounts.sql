@@ -0,0 +1,9 @@
+-- V12__add_version_to_bank_accounts.sql
+-- Optimistic-lock version for BankAccount (JPA @Version). Entity writes check
+-- and bump it, so a read-modify-write of current_balance that raced another
+-- writer fails instead of silently overwriting it; the bulk balance-delta
+-- UPDATE bumps it as well. Existing rows start at 0.
+--
+-- Rollback (manual): ALTER TABLE bank_accounts DROP COLUMN version;
+
+ALTER TABLE bank_accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
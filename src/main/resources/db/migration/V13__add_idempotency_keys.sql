@@ -0,0 +1,20 @@
+-- V13__add_idempotency_keys.sql
+-- Responses of mutating requests sent with an Idempotency-Key header. A row is
+-- reserved (response_status NULL) before the request runs and completed with
+-- the response afterwards; a retry with the same key gets the stored response
+-- without re-running the request. request_hash (SHA-256 of method, path and
+-- body) detects a key reused for a different request. Rows older than the
+-- configured TTL are swept by IdempotencyService.
+--
+-- Rollback (manual): DROP TABLE idempotency_keys;
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash CHAR(64) NOT NULL,
+    response_status INTEGER,
+    response_content_type VARCHAR(255),
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys(created_at);
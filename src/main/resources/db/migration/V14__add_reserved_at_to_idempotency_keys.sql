@@ -0,0 +1,11 @@
+-- V14__add_reserved_at_to_idempotency_keys.sql
+-- When an idempotency key was last reserved. A reservation that is still
+-- uncompleted after the configured lease (its request died mid-flight, e.g. on
+-- a restart) may be taken over by a retry instead of answering 409 until the
+-- TTL sweep. Existing rows take their creation time.
+--
+-- Rollback (manual): ALTER TABLE idempotency_keys DROP COLUMN reserved_at;
+
+ALTER TABLE idempotency_keys ADD COLUMN reserved_at TIMESTAMP;
+UPDATE idempotency_keys SET reserved_at = created_at;
+ALTER TABLE idempotency_keys ALTER COLUMN reserved_at SET NOT NULL;
@@ -0,0 +1,27 @@
+-- V7__add_budget_totals.sql
+-- Materialized per-budget totals: one row per budget holding the summed income,
+-- expense and savings amounts. Maintained by the backend in the same transaction
+-- as every line-item add/update/delete, so budget list, update and lock read a
+-- single row instead of aggregating the line-item tables.
+-- A budget without a row has no line items (all totals zero). Rows are removed
+-- together with their budget via ON DELETE CASCADE.
+--
+-- Rollback (manual): DROP TABLE budget_totals;
+
+CREATE TABLE budget_totals (
+    budget_id UUID PRIMARY KEY,
+    total_income NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    total_expenses NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    total_savings NUMERIC(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_budget_totals_budget FOREIGN KEY (budget_id) REFERENCES budgets(id) ON DELETE CASCADE
+);
+
+-- Backfill from existing line items
+INSERT INTO budget_totals (budget_id, total_income, total_expenses, total_savings, updated_at)
+SELECT b.id,
+       COALESCE((SELECT SUM(bi.amount) FROM budget_income bi WHERE bi.budget_id = b.id), 0),
+       COALESCE((SELECT SUM(be.amount) FROM budget_expenses be WHERE be.budget_id = b.id), 0),
+       COALESCE((SELECT SUM(bs.amount) FROM budget_savings bs WHERE bs.budget_id = b.id), 0),
+       NOW()
+FROM budgets b;
@@ -0,0 +1,9 @@
+-- V8__add_budgets_active_status_index.sql
+-- Partial index backing status probes over non-deleted budgets: the single
+-- "account linked to an UNLOCKED budget" EXISTS check used by account deletion,
+-- and the "another budget is unlocked" check on budget creation.
+-- Additive only: the currently deployed backend starts unchanged against this schema.
+--
+-- Rollback (manual): DROP INDEX idx_budgets_status_active;
+
+CREATE INDEX idx_budgets_status_active ON budgets(status) WHERE deleted_at IS NULL;
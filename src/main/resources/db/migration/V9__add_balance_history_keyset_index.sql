@@ -0,0 +1,11 @@
+-- V9__add_balance_history_keyset_index.sql
+-- Composite index matching the balance-history sort order (change_date, created_at, id,
+-- all DESC) per account. Serves the keyset-paginated history endpoint as a pure index
+-- range scan: each page seeks directly past the previous cursor instead of skipping
+-- OFFSET rows, and no count query is needed.
+-- Additive only: idx_balance_history_bank_account is kept for the existing offset endpoint.
+--
+-- Rollback (manual): DROP INDEX idx_balance_history_account_keyset;
+
+CREATE INDEX idx_balance_history_account_keyset
+    ON balance_history(bank_account_id, change_date DESC, created_at DESC, id DESC);
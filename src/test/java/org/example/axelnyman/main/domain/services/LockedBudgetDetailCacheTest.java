@@ -0,0 +1,90 @@
+package org.example.axelnyman.main.domain.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.axelnyman.main.domain.dtos.BudgetDtos.BudgetDetailResponse;
+import org.example.axelnyman.main.domain.dtos.BudgetDtos.BudgetTotalsResponse;
+import org.example.axelnyman.main.domain.model.BudgetStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockedBudgetDetailCacheTest {
+
+    private final UUID budgetId = UUID.randomUUID();
+    private final LocalDateTime lockedAt = LocalDateTime.of(2024, 2, 1, 12, 0);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockedBudgetDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LockedBudgetDetailCache(100, Duration.ofHours(1), meterRegistry);
+    }
+
+    @Test
+    void shouldBuildLockedDetailOnce() {
+        BudgetDetailResponse first = cache.get(budgetId, lockedAt, () -> build(lockedAt));
+        BudgetDetailResponse second = cache.get(budgetId, lockedAt, () -> build(lockedAt));
+
+        assertThat(second).isSameAs(first);
+        assertThat(builds.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "lockedBudgetDetails").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotServeEntryFromEarlierLock() {
+        cache.get(budgetId, lockedAt, () -> build(lockedAt));
+
+        LocalDateTime relockedAt = lockedAt.plusDays(1);
+        BudgetDetailResponse relocked = cache.get(budgetId, relockedAt, () -> build(relockedAt));
+
+        assertThat(relocked.lockedAt()).isEqualTo(relockedAt);
+        assertThat(builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRebuildAfterEviction() {
+        UUID otherId = UUID.randomUUID();
+        cache.get(budgetId, lockedAt, () -> build(lockedAt));
+        cache.get(otherId, lockedAt, () -> build(lockedAt));
+
+        cache.evict(budgetId);
+        cache.get(budgetId, lockedAt, () -> build(lockedAt));
+        cache.get(otherId, lockedAt, () -> build(lockedAt));
+
+        assertThat(builds.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotStoreBuildThatOverlapsEvictAll() {
+        // A reader builds with the old account name while a rename clears the cache
+        cache.get(budgetId, lockedAt, () -> {
+            BudgetDetailResponse stale = build(lockedAt);
+            cache.evictAll();
+            return stale;
+        });
+
+        cache.get(budgetId, lockedAt, () -> build(lockedAt));
+
+        assertThat(builds.get()).isEqualTo(2);
+    }
+
+    private BudgetDetailResponse build(LocalDateTime lockedAt) {
+        builds.incrementAndGet();
+        BudgetTotalsResponse totals = new BudgetTotalsResponse(
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        return new BudgetDetailResponse(budgetId, 1, 2024, BudgetStatus.LOCKED,
+                lockedAt.minusDays(30), lockedAt, List.of(), List.of(), List.of(), totals);
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.axelnyman.main.domain.utils;
+
+import org.example.axelnyman.main.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinimalTransferCalculationUtilsTest {
+
+    private static final Duration NO_LIMIT = Duration.ofMinutes(1);
+
+    private final UUID budgetId = UUID.randomUUID();
+    private final Budget budget = new Budget(1, 2025);
+
+    @Test
+    void shouldUseFewerTransfersThanGreedyWhenSubsetsNetToZero() {
+        // Given: +100, +200, +300 against three -200 accounts; +200/-200 settle on their own
+        List<UUID> accounts = accounts(6);
+        LineItems items = new LineItems();
+        items.income("100.00", accounts.get(0));
+        items.income("200.00", accounts.get(1));
+        items.income("300.00", accounts.get(2));
+        items.expense("200.00", accounts.get(3));
+        items.expense("200.00", accounts.get(4));
+        items.expense("200.00", accounts.get(5));
+
+        List<TransferPlan> greedy = TransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings);
+        List<TransferPlan> minimal = MinimalTransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings, 16, NO_LIMIT);
+
+        assertThat(greedy).hasSize(5);
+        assertThat(minimal).hasSize(4);
+        assertSettlesAllAccounts(items, minimal);
+    }
+
+    @Test
+    void shouldNeverUseMoreTransfersThanGreedyOnRandomBudgets() {
+        Random random = new Random(11L);
+        for (int run = 0; run < 1_000; run++) {
+            LineItems items = randomBalancedBudget(random, 2 + random.nextInt(9), 4 + random.nextInt(20));
+
+            List<TransferPlan> greedy = TransferCalculationUtils.calculateTransfers(
+                    budget, items.income, items.expenses, items.savings);
+            List<TransferPlan> minimal = MinimalTransferCalculationUtils.calculateTransfers(
+                    budget, items.income, items.expenses, items.savings, 16, NO_LIMIT);
+
+            assertThat(minimal.size()).as("run " + run).isLessThanOrEqualTo(greedy.size());
+            assertSettlesAllAccounts(items, minimal);
+        }
+    }
+
+    @Test
+    void shouldReturnGreedyPlanAboveAccountLimit() {
+        List<UUID> accounts = accounts(6);
+        LineItems items = new LineItems();
+        items.income("100.00", accounts.get(0));
+        items.income("200.00", accounts.get(1));
+        items.income("300.00", accounts.get(2));
+        items.expense("200.00", accounts.get(3));
+        items.expense("200.00", accounts.get(4));
+        items.expense("200.00", accounts.get(5));
+
+        List<TransferPlan> minimal = MinimalTransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings, 5, NO_LIMIT);
+
+        assertThat(minimal).containsExactlyElementsOf(TransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings));
+    }
+
+    @Test
+    void shouldReturnGreedyPlanWhenTimeBudgetIsExhausted() {
+        LineItems items = randomBalancedBudget(new Random(3L), 16, 64);
+
+        List<TransferPlan> minimal = MinimalTransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings, 16, Duration.ZERO);
+
+        assertThat(minimal).containsExactlyElementsOf(TransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings));
+    }
+
+    @Test
+    void shouldReturnGreedyPlanForUnbalancedBudget() {
+        List<UUID> accounts = accounts(4);
+        LineItems items = new LineItems();
+        items.income("500.00", accounts.get(0));
+        items.income("300.00", accounts.get(1));
+        items.expense("400.00", accounts.get(2));
+        items.expense("100.00", accounts.get(3));
+
+        List<TransferPlan> minimal = MinimalTransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings, 16, NO_LIMIT);
+
+        assertThat(minimal).containsExactlyElementsOf(TransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings));
+    }
+
+    // ==================== HELPERS ====================
+
+    private void assertSettlesAllAccounts(LineItems items, List<TransferPlan> transfers) {
+        Map<UUID, BigDecimal> balances = new HashMap<>();
+        TransferCalculationUtils.calculateAccountNetPositions(items.income, items.expenses, items.savings)
+                .forEach(position -> balances.put(position.getAccountId(), position.getNetAmount()));
+        for (TransferPlan transfer : transfers) {
+            assertThat(transfer.getAmount()).isPositive();
+            balances.merge(transfer.getFromAccountId(), transfer.getAmount().negate(), BigDecimal::add);
+            balances.merge(transfer.getToAccountId(), transfer.getAmount(), BigDecimal::add);
+        }
+        assertThat(balances.values()).allSatisfy(balance -> assertThat(balance).isZero());
+    }
+
+    private LineItems randomBalancedBudget(Random random, int accountCount, int itemCount) {
+        List<UUID> accounts = accounts(accountCount);
+        LineItems items = new LineItems();
+        long net = 0;
+        for (int i = 0; i < itemCount; i++) {
+            // Round amounts make zero-sum subsets common
+            long cents = 100_00L * (1 + random.nextInt(6));
+            UUID account = accounts.get(random.nextInt(accounts.size()));
+            if (random.nextBoolean()) {
+                items.income(BigDecimal.valueOf(cents, 2).toPlainString(), account);
+                net += cents;
+            } else {
+                items.expense(BigDecimal.valueOf(cents, 2).toPlainString(), account);
+                net -= cents;
+            }
+        }
+        UUID account = accounts.get(random.nextInt(accounts.size()));
+        if (net > 0) {
+            items.savings.add(new BudgetSavings(budgetId, account, "Balancing", BigDecimal.valueOf(net, 2)));
+        } else if (net < 0) {
+            items.income(BigDecimal.valueOf(-net, 2).toPlainString(), account);
+        }
+        return items;
+    }
+
+    private static List<UUID> accounts(int count) {
+        List<UUID> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(UUID.randomUUID());
+        }
+        return accounts;
+    }
+
+    private final class LineItems {
+        final List<BudgetIncome> income = new ArrayList<>();
+        final List<BudgetExpense> expenses = new ArrayList<>();
+        final List<BudgetSavings> savings = new ArrayList<>();
+
+        void income(String amount, UUID account) {
+            income.add(new BudgetIncome(budgetId, account, "Income", new BigDecimal(amount)));
+        }
+
+        void expense(String amount, UUID account) {
+            expenses.add(new BudgetExpense(budgetId, account, "Expense", new BigDecimal(amount), null, null, true));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example.axelnyman.main.domain.utils;
+
+import org.example.axelnyman.main.domain.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Equivalence tests: on randomly generated budgets, the minor-unit engine must return exactly
+ * the same transfer list as TransferCalculationUtils (order, accounts, amounts and scales).
+ */
+class MinorUnitTransferCalculationUtilsTest {
+
+    private final UUID budgetId = UUID.randomUUID();
+    private final Budget budget = new Budget(1, 2025);
+
+    // ==================== PROPERTY TESTS ====================
+
+    @Test
+    void shouldMatchReferenceEngineOnRandomBalancedBudgets() {
+        Random random = new Random(20250101L);
+        for (int run = 0; run < 2_000; run++) {
+            int accounts = 1 + random.nextInt(12);
+            int items = random.nextInt(30);
+            assertSamePlan(randomBudget(random, accounts, items, true, 2), "run " + run);
+        }
+    }
+
+    @Test
+    void shouldMatchReferenceEngineOnRandomUnbalancedBudgets() {
+        Random random = new Random(7L);
+        for (int run = 0; run < 2_000; run++) {
+            int accounts = 1 + random.nextInt(12);
+            int items = random.nextInt(30);
+            assertSamePlan(randomBudget(random, accounts, items, false, 2), "run " + run);
+        }
+    }
+
+    @Test
+    void shouldMatchReferenceEngineWhenAmountsTie() {
+        // Few distinct amounts force ties, which must keep the reference engine's order
+        Random random = new Random(99L);
+        for (int run = 0; run < 2_000; run++) {
+            LineItems items = new LineItems();
+            List<UUID> accounts = accounts(2 + random.nextInt(10));
+            for (int i = 0; i < 20; i++) {
+                BigDecimal amount = new BigDecimal(100 * (1 + random.nextInt(3)) + ".00");
+                UUID account = accounts.get(random.nextInt(accounts.size()));
+                if (random.nextBoolean()) {
+                    items.income.add(new BudgetIncome(budgetId, account, "Income", amount));
+                } else {
+                    items.expenses.add(new BudgetExpense(budgetId, account, "Expense", amount, null, null, true));
+                }
+            }
+            assertSamePlan(items, "run " + run);
+        }
+    }
+
+    @Test
+    void shouldMatchReferenceEngineWithManyAccounts() {
+        Random random = new Random(5_000L);
+        for (int run = 0; run < 20; run++) {
+            assertSamePlan(randomBudget(random, 2_000, 6_000, true, 2), "run " + run);
+        }
+    }
+
+    @Test
+    void shouldMatchReferenceEngineForOtherCommonScales() {
+        Random random = new Random(3L);
+        for (int run = 0; run < 500; run++) {
+            int scale = run % 4;
+            assertSamePlan(randomBudget(random, 1 + random.nextInt(8), random.nextInt(20), true, scale),
+                    "run " + run);
+        }
+    }
+
+    // ==================== FALLBACK TESTS ====================
+
+    @Test
+    void shouldMatchReferenceEngineWhenScalesAreMixed() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        LineItems items = new LineItems();
+        items.income.add(new BudgetIncome(budgetId, a, "Salary", new BigDecimal("1000")));
+        items.expenses.add(new BudgetExpense(budgetId, b, "Rent", new BigDecimal("400.50"), null, null, true));
+        items.savings.add(new BudgetSavings(budgetId, b, "Buffer", new BigDecimal("599.5")));
+
+        assertSamePlan(items, "mixed scales");
+    }
+
+    @Test
+    void shouldMatchReferenceEngineWhenSumsOverflowLong() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        BigDecimal huge = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+        LineItems items = new LineItems();
+        items.income.add(new BudgetIncome(budgetId, a, "Salary", huge));
+        items.income.add(new BudgetIncome(budgetId, a, "Bonus", huge));
+        items.expenses.add(new BudgetExpense(budgetId, b, "Rent", huge, null, null, true));
+
+        assertSamePlan(items, "overflow");
+    }
+
+    @Test
+    void shouldReturnNoTransfersForEmptyBudget() {
+        assertThat(MinorUnitTransferCalculationUtils.calculateTransfers(budget, List.of(), List.of(), List.of()))
+                .isEmpty();
+    }
+
+    // ==================== HELPERS ====================
+
+    private void assertSamePlan(LineItems items, String description) {
+        List<TransferPlan> expected = TransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings);
+        List<TransferPlan> actual = MinorUnitTransferCalculationUtils.calculateTransfers(
+                budget, items.income, items.expenses, items.savings);
+
+        assertThat(actual).as(description).containsExactlyElementsOf(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            // TransferPlan.equals already compares BigDecimal scale; keep it explicit
+            assertThat(actual.get(i).getAmount().scale()).as(description)
+                    .isEqualTo(expected.get(i).getAmount().scale());
+        }
+    }
+
+    private LineItems randomBudget(Random random, int accountCount, int itemCount, boolean balanced, int scale) {
+        List<UUID> accounts = accounts(accountCount);
+        LineItems items = new LineItems();
+        long net = 0;
+        for (int i = 0; i < itemCount; i++) {
+            long minorUnits = 1 + random.nextInt(500_000);
+            BigDecimal amount = BigDecimal.valueOf(minorUnits, scale);
+            UUID account = accounts.get(random.nextInt(accounts.size()));
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    items.income.add(new BudgetIncome(budgetId, account, "Income " + i, amount));
+                    net += minorUnits;
+                }
+                case 1 -> {
+                    items.expenses.add(new BudgetExpense(budgetId, account, "Expense " + i, amount, null, null, true));
+                    net -= minorUnits;
+                }
+                default -> {
+                    items.savings.add(new BudgetSavings(budgetId, account, "Savings " + i, amount));
+                    net -= minorUnits;
+                }
+            }
+        }
+
+        if (balanced && net != 0) {
+            UUID account = accounts.get(random.nextInt(accounts.size()));
+            BigDecimal amount = BigDecimal.valueOf(Math.abs(net), scale);
+            if (net > 0) {
+                items.savings.add(new BudgetSavings(budgetId, account, "Balancing", amount));
+            } else {
+                items.income.add(new BudgetIncome(budgetId, account, "Balancing", amount));
+            }
+        }
+        return items;
+    }
+
+    private static List<UUID> accounts(int count) {
+        List<UUID> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(UUID.randomUUID());
+        }
+        return accounts;
+    }
+
+    private static final class LineItems {
+        final List<BudgetIncome> income = new ArrayList<>();
+        final List<BudgetExpense> expenses = new ArrayList<>();
+        final List<BudgetSavings> savings = new ArrayList<>();
+    }
+}
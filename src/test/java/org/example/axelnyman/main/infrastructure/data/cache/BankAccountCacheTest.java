@@ -0,0 +1,146 @@
+package org.example.axelnyman.main.infrastructure.data.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.axelnyman.main.domain.model.BankAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankAccountCacheTest {
+
+    private final UUID accountId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private BankAccountCache cache;
+    private BigDecimal storedBalance;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BankAccountCache(100, Duration.ofMinutes(10), meterRegistry);
+        storedBalance = new BigDecimal("1000.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        cache.get(accountId, this::load);
+        cache.get(accountId, this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "bankAccounts").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldReturnCopiesThatCannotCorruptTheCache() {
+        cache.get(accountId, this::load);
+
+        BankAccount first = cache.get(accountId, this::load).orElseThrow();
+        first.setCurrentBalance(new BigDecimal("1.00"));
+
+        BankAccount second = cache.get(accountId, this::load).orElseThrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getCurrentBalance()).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        cache.get(accountId, this::load);
+        storedBalance = new BigDecimal("1500.00");
+
+        cache.evict(accountId);
+
+        assertThat(cache.get(accountId, this::load).orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("1500.00");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotStoreLoadThatOverlapsAnEviction() {
+        // A reader loads the old state while a writer evicts mid-load
+        cache.get(accountId, id -> {
+            Optional<BankAccount> stale = load(id);
+            cache.evict(accountId);
+            storedBalance = new BigDecimal("2000.00");
+            return stale;
+        });
+
+        assertThat(cache.get(accountId, this::load).orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("2000.00");
+    }
+
+    @Test
+    void shouldBypassCacheForAccountsWrittenInCurrentTransactionAndEvictOnCompletion() {
+        cache.get(accountId, this::load);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        cache.evict(accountId);
+        storedBalance = new BigDecimal("1200.00");
+
+        // Own write is visible; a concurrent reader re-caching old state is ignored inside the transaction
+        assertThat(cache.get(accountId, this::load).orElseThrow().getCurrentBalance())
+                .isEqualByComparingTo("1200.00");
+
+        // Completion evicts once more and releases the transaction-bound state
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(TransactionSynchronizationManager.hasResource(cache)).isFalse();
+        cache.get(accountId, this::load);
+        cache.get(accountId, this::load);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotPopulateFromReadWriteTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        cache.get(accountId, this::load);
+        cache.get(accountId, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBatchLoadOnlyMisses() {
+        UUID otherId = UUID.randomUUID();
+        cache.get(accountId, this::load);
+
+        List<BankAccount> accounts = cache.getAll(List.of(accountId, otherId), ids -> {
+            assertThat(ids).containsExactly(otherId);
+            return ids.stream().map(id -> load(id).orElseThrow()).toList();
+        });
+
+        assertThat(accounts).extracting(BankAccount::getId).containsExactlyInAnyOrder(accountId, otherId);
+    }
+
+    private Optional<BankAccount> load(UUID id) {
+        loads.incrementAndGet();
+        BankAccount account = new BankAccount("Checking", "Main", storedBalance);
+        account.setId(id);
+        return Optional.of(account);
+    }
+}
@@ -32,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -62,6 +63,9 @@ public class BudgetIntegrationTest {
         @Autowired
         private BudgetRepository budgetRepository;
 
+        @Autowired
+        private javax.sql.DataSource dataSource;
+
         @Autowired
         private org.example.axelnyman.main.infrastructure.data.context.BankAccountRepository bankAccountRepository;
 
@@ -89,6 +93,12 @@ public class BudgetIntegrationTest {
         @Autowired
         private ObjectMapper objectMapper;
 
+        @Autowired
+        private org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
         private MockMvc mockMvc;
 
         @BeforeEach
@@ -1189,6 +1199,40 @@ public class BudgetIntegrationTest {
                                 .andExpect(jsonPath("$.error").exists());
         }
 
+        @Test
+        void shouldSeeAccountChangesMadeThroughTheApiAfterAccountsWereCached() throws Exception {
+                // Given - accounts listed (seeds the account lookup cache), then renamed and deleted via the API
+                createBudget(6, 2024);
+                var budget = budgetRepository.findAll().get(0);
+                var renamed = createBankAccountEntity("Old Name", "Renamed later", new BigDecimal("1000.00"));
+                var deleted = createBankAccountEntity("Closing", "Deleted later", new BigDecimal("0.00"));
+                mockMvc.perform(get("/api/bank-accounts")).andExpect(status().isOk());
+
+                mockMvc.perform(put("/api/bank-accounts/" + renamed.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(Map.of("name", "New Name", "description", "Renamed"))))
+                                .andExpect(status().isOk());
+                mockMvc.perform(delete("/api/bank-accounts/" + deleted.getId()))
+                                .andExpect(status().isNoContent());
+
+                // When & Then - line items see the new name, and the deleted account is rejected
+                Map<String, Object> incomeRequest = new HashMap<>();
+                incomeRequest.put("name", "Income");
+                incomeRequest.put("amount", new BigDecimal("1000.00"));
+                incomeRequest.put("bankAccountId", renamed.getId().toString());
+                mockMvc.perform(post("/api/budgets/" + budget.getId() + "/income")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(incomeRequest)))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.bankAccount.name", is("New Name")));
+
+                incomeRequest.put("bankAccountId", deleted.getId().toString());
+                mockMvc.perform(post("/api/budgets/" + budget.getId() + "/income")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(incomeRequest)))
+                                .andExpect(status().isNotFound());
+        }
+
         @Test
         void shouldRejectDeletedBankAccount() throws Exception {
                 // Given - soft-deleted bank account
@@ -5619,6 +5663,90 @@ public class BudgetIntegrationTest {
                                 .andExpect(status().isBadRequest());
         }
 
+        // ========== Materialized budget totals (budget_totals) ==========
+
+        @Test
+        void shouldKeepMaterializedTotalsInSyncWithLineItemWrites() throws Exception {
+                createBudget(6, 2024);
+                UUID budgetId = budgetRepository.findAll().get(0).getId();
+                var bankAccount = createBankAccountEntity("Checking", "Main", new BigDecimal("10000.00"));
+
+                String incomeId = postLineItem(budgetId, "income", bankAccount.getId(), "Salary", "3000.00");
+                postLineItem(budgetId, "expenses", bankAccount.getId(), "Rent", "1000.00");
+                String savingsId = postLineItem(budgetId, "savings", bankAccount.getId(), "Buffer", "500.00");
+
+                Map<String, Object> incomeUpdate = new HashMap<>();
+                incomeUpdate.put("name", "Salary");
+                incomeUpdate.put("amount", "2500.00");
+                incomeUpdate.put("bankAccountId", bankAccount.getId().toString());
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/income/" + incomeId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(incomeUpdate)))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(delete("/api/budgets/" + budgetId + "/savings/" + savingsId))
+                                .andExpect(status().isNoContent());
+
+                mockMvc.perform(get("/api/budgets"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.budgets[0].totals.income", is(2500.00)))
+                                .andExpect(jsonPath("$.budgets[0].totals.expenses", is(1000.00)))
+                                .andExpect(jsonPath("$.budgets[0].totals.savings", is(0)))
+                                .andExpect(jsonPath("$.budgets[0].totals.balance", is(1500.00)));
+
+                mockMvc.perform(get("/api/budgets/totals/consistency"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.budgetsChecked", is(1)))
+                                .andExpect(jsonPath("$.driftedBudgetIds", hasSize(0)))
+                                .andExpect(jsonPath("$.rebuilt", is(false)));
+        }
+
+        @Test
+        void shouldReportAndRebuildDriftedTotals() throws Exception {
+                createBudget(6, 2024);
+                UUID budgetId = budgetRepository.findAll().get(0).getId();
+                var bankAccount = createBankAccountEntity("Checking", "Main", new BigDecimal("10000.00"));
+                postLineItem(budgetId, "income", bankAccount.getId(), "Salary", "3000.00");
+
+                // Corrupt the projection behind the application's back
+                jdbcTemplate.update("UPDATE budget_totals SET total_income = 1 WHERE budget_id = ?", budgetId);
+
+                mockMvc.perform(get("/api/budgets/totals/consistency"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.driftedBudgetIds", hasSize(1)))
+                                .andExpect(jsonPath("$.driftedBudgetIds[0]", is(budgetId.toString())));
+
+                mockMvc.perform(post("/api/budgets/totals/rebuild"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.driftedBudgetIds[0]", is(budgetId.toString())))
+                                .andExpect(jsonPath("$.rebuilt", is(true)));
+
+                mockMvc.perform(get("/api/budgets"))
+                                .andExpect(jsonPath("$.budgets[0].totals.income", is(3000.00)));
+
+                mockMvc.perform(get("/api/budgets/totals/consistency"))
+                                .andExpect(jsonPath("$.driftedBudgetIds", hasSize(0)));
+        }
+
+        // Helper method to add a line item via API and return its id
+        private String postLineItem(UUID budgetId, String type, UUID bankAccountId, String name, String amount)
+                        throws Exception {
+                Map<String, Object> request = new HashMap<>();
+                request.put("name", name);
+                request.put("amount", amount);
+                request.put("bankAccountId", bankAccountId.toString());
+                if (type.equals("expenses")) {
+                        request.put("isManual", false);
+                }
+
+                String response = mockMvc.perform(post("/api/budgets/" + budgetId + "/" + type)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                return objectMapper.readTree(response).get("id").asText();
+        }
+
         // Helper method to create budget request
         private Map<String, Object> createBudgetRequest(Integer month, Integer year) {
                 Map<String, Object> request = new HashMap<>();
@@ -6869,6 +6997,299 @@ public class BudgetIntegrationTest {
                                                 .value(6000.00));
         }
 
+        // Budget trends (monthly_budget_summary rollup)
+
+        @Test
+        void shouldReturnLockedMonthsInBudgetTrends() throws Exception {
+                // Given - two locked months and one unlocked month
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("Trends",
+                                "Trends account", new BigDecimal("1000.00"));
+
+                String januaryId = lockBalancedBudget(1, 2024, account.getId().toString(), 2000.00);
+                String februaryId = lockBalancedBudget(2, 2024, account.getId().toString(), 4000.00);
+                createBudget(3, 2024);
+
+                // When & Then - oldest first, unlocked month excluded
+                mockMvc.perform(get("/api/budgets/trends"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.months", hasSize(2)))
+                                .andExpect(jsonPath("$.months[0].budgetId", is(januaryId)))
+                                .andExpect(jsonPath("$.months[0].totals.income", is(2000.00)))
+                                .andExpect(jsonPath("$.months[0].totals.savings", is(1000.00)))
+                                .andExpect(jsonPath("$.months[0].savingsRate", is(0.5)))
+                                .andExpect(jsonPath("$.months[1].budgetId", is(februaryId)))
+                                .andExpect(jsonPath("$.months[1].totals.expenses", is(2000.00)));
+
+                // Limiting to one month keeps the most recent
+                mockMvc.perform(get("/api/budgets/trends").param("months", "1"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.months", hasSize(1)))
+                                .andExpect(jsonPath("$.months[0].budgetId", is(februaryId)));
+        }
+
+        @Test
+        void shouldRemoveMonthFromTrendsOnUnlock() throws Exception {
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("Trends",
+                                "Trends account", new BigDecimal("1000.00"));
+                String budgetId = lockBalancedBudget(5, 2024, account.getId().toString(), 1000.00);
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/unlock"))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/api/budgets/trends"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.months", hasSize(0)));
+        }
+
+        @Test
+        void shouldRejectInvalidTrendsMonths() throws Exception {
+                mockMvc.perform(get("/api/budgets/trends").param("months", "0"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.error").exists());
+        }
+
+        @Test
+        void shouldAnswerNotModifiedUntilBudgetListChanges() throws Exception {
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("ETag",
+                                "ETag account", new BigDecimal("1000.00"));
+                createBudget(6, 2024);
+
+                String eTag = mockMvc.perform(get("/api/budgets"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader("ETag");
+
+                mockMvc.perform(get("/api/budgets").header("If-None-Match", eTag))
+                                .andExpect(status().isNotModified());
+
+                // Adding a line item moves the listed totals
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                Map<String, Object> incomeRequest = new HashMap<>();
+                incomeRequest.put("bankAccountId", account.getId().toString());
+                incomeRequest.put("name", "Salary");
+                incomeRequest.put("amount", 500.00);
+                mockMvc.perform(post("/api/budgets/" + budgetId + "/income")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(incomeRequest)))
+                                .andExpect(status().isCreated());
+
+                mockMvc.perform(get("/api/budgets").header("If-None-Match", eTag))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.budgets[0].totals.income", is(500.00)));
+        }
+
+        @Test
+        void shouldIssueNewTodoListETagAfterItemStatusChange() throws Exception {
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("ETag",
+                                "ETag account", new BigDecimal("1000.00"));
+                String budgetId = lockBalancedBudget(7, 2024, account.getId().toString(), 1000.00);
+
+                var todoList = mockMvc.perform(get("/api/budgets/" + budgetId + "/todo-list"))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse();
+                String eTag = todoList.getHeader("ETag");
+                String todoItemId = objectMapper.readTree(todoList.getContentAsString())
+                                .get("items").get(0).get("id").asText();
+
+                mockMvc.perform(get("/api/budgets/" + budgetId + "/todo-list").header("If-None-Match", eTag))
+                                .andExpect(status().isNotModified());
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/todo-list/items/" + todoItemId)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(Map.of("status", "COMPLETED"))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/api/budgets/" + budgetId + "/todo-list").header("If-None-Match", eTag))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.summary.completedItems", is(1)));
+        }
+
+        @Test
+        void shouldReturnNotFoundRatherThanNotModifiedForRemovedTodoList() throws Exception {
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("ETag",
+                                "Unlocked account", new BigDecimal("1000.00"));
+                String budgetId = lockBalancedBudget(8, 2024, account.getId().toString(), 1000.00);
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/unlock"))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/api/budgets/" + budgetId + "/todo-list"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(header().doesNotExist("ETag"));
+
+                // A poll that matched any tag must still see the 404, not a 304
+                mockMvc.perform(get("/api/budgets/" + budgetId + "/todo-list").header("If-None-Match", "*"))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void shouldBumpAccountVersionWhenLockAndUnlockMoveBalances() throws Exception {
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("Versioned",
+                                "Versioned account", new BigDecimal("1000.00"));
+                long initialVersion = bankAccountRepository.findById(account.getId()).orElseThrow().getVersion();
+
+                // Locking adds the month's savings to the account through the bulk balance update
+                String budgetId = lockBalancedBudget(8, 2024, account.getId().toString(), 1000.00);
+                long lockedVersion = bankAccountRepository.findById(account.getId()).orElseThrow().getVersion();
+                assertThat(lockedVersion).isGreaterThan(initialVersion);
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/unlock"))
+                                .andExpect(status().isOk());
+                assertThat(bankAccountRepository.findById(account.getId()).orElseThrow().getVersion())
+                                .isGreaterThan(lockedVersion);
+        }
+
+        @Test
+        void shouldGenerateFewerTransfersWithMinimalTransferStrategy() throws Exception {
+                createBudget(3, 2024);
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                addZeroSumSubsetItems(budgetId);
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/lock")
+                                .param("transferStrategy", "minimal"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status", is("LOCKED")));
+
+                assertThat(todoItemRepository.findAll())
+                                .filteredOn(item -> item.getType() == org.example.axelnyman.main.domain.model.TodoItemType.TRANSFER)
+                                .hasSize(4);
+        }
+
+        @Test
+        void shouldUseGreedyTransfersByDefault() throws Exception {
+                createBudget(3, 2024);
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                addZeroSumSubsetItems(budgetId);
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                                .andExpect(status().isOk());
+
+                assertThat(todoItemRepository.findAll())
+                                .filteredOn(item -> item.getType() == org.example.axelnyman.main.domain.model.TodoItemType.TRANSFER)
+                                .hasSize(5);
+        }
+
+        @Test
+        void shouldRejectUnknownTransferStrategy() throws Exception {
+                createBudget(3, 2024);
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                addZeroSumSubsetItems(budgetId);
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/lock")
+                                .param("transferStrategy", "fastest"))
+                                .andExpect(status().isBadRequest());
+
+                assertThat(budgetRepository.findById(UUID.fromString(budgetId)).orElseThrow().getStatus())
+                                .isEqualTo(org.example.axelnyman.main.domain.model.BudgetStatus.UNLOCKED);
+        }
+
+        @Test
+        void shouldPreviewTransfersWithoutLocking() throws Exception {
+                createBudget(4, 2024);
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                addZeroSumSubsetItems(budgetId);
+
+                mockMvc.perform(get("/api/budgets/" + budgetId + "/transfer-preview"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.budgetId", is(budgetId)))
+                                .andExpect(jsonPath("$.transferStrategy", is("GREEDY")))
+                                .andExpect(jsonPath("$.balance", is(0.0)))
+                                .andExpect(jsonPath("$.accounts", hasSize(6)))
+                                .andExpect(jsonPath("$.accounts[0].bankAccount.name", is("Surplus 2")))
+                                .andExpect(jsonPath("$.accounts[0].netAmount", is(300.0)))
+                                .andExpect(jsonPath("$.transfers", hasSize(5)))
+                                .andExpect(jsonPath("$.transfers[0].fromAccount.name", is("Surplus 2")))
+                                .andExpect(jsonPath("$.transfers[0].amount", is(200.0)));
+
+                mockMvc.perform(get("/api/budgets/" + budgetId + "/transfer-preview")
+                                .param("transferStrategy", "minimal"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.transferStrategy", is("MINIMAL")))
+                                .andExpect(jsonPath("$.transfers", hasSize(4)));
+
+                // Nothing was written
+                assertThat(budgetRepository.findById(UUID.fromString(budgetId)).orElseThrow().getStatus())
+                                .isEqualTo(org.example.axelnyman.main.domain.model.BudgetStatus.UNLOCKED);
+                assertThat(todoListRepository.count()).isZero();
+                assertThat(bankAccountRepository.findAll())
+                                .allSatisfy(account -> assertThat(account.getCurrentBalance()).isEqualByComparingTo(BigDecimal.ZERO));
+        }
+
+        @Test
+        void shouldReturn404WhenPreviewingTransfersOfUnknownBudget() throws Exception {
+                mockMvc.perform(get("/api/budgets/" + UUID.randomUUID() + "/transfer-preview"))
+                                .andExpect(status().isNotFound())
+                                .andExpect(jsonPath("$.error").exists());
+        }
+
+        @Test
+        void shouldRecordOperationAndPhaseTimersOnLockAndUnlock() throws Exception {
+                var account = createBankAccountEntity("Timed", "Metrics", new BigDecimal("1000.00"));
+                createBudget(5, 2024);
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                addBalancedBudgetItems(budgetId, account.getId().toString(), 1000.00);
+
+                long lockCalls = timerCount("domain.service", "method", "lockBudget");
+                long transferCalculations = phaseCount("lock", "transfer_calculation");
+                long balanceReversals = phaseCount("unlock", "balance_update");
+                long todoDeletions = phaseCount("unlock", "todo_deletion");
+                long unlockTodoGenerations = phaseCount("unlock", "todo_generation");
+
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                                .andExpect(status().isOk());
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/unlock"))
+                                .andExpect(status().isOk());
+
+                assertThat(timerCount("domain.service", "method", "lockBudget")).isEqualTo(lockCalls + 1);
+                assertThat(phaseCount("lock", "transfer_calculation")).isEqualTo(transferCalculations + 1);
+                assertThat(phaseCount("unlock", "balance_update")).isEqualTo(balanceReversals + 1);
+                assertThat(phaseCount("unlock", "todo_deletion")).isEqualTo(todoDeletions + 1);
+                assertThat(phaseCount("unlock", "todo_generation")).isEqualTo(unlockTodoGenerations);
+                for (String phase : java.util.List.of("todo_generation", "balance_update", "goal_allocation", "recurring_update")) {
+                        assertThat(phaseCount("lock", phase)).as(phase).isPositive();
+                }
+        }
+
+        @Test
+        void shouldRejectLockWhileAnotherLockOrUnlockIsRunning() throws Exception {
+                org.example.axelnyman.main.domain.model.BankAccount account = createBankAccountEntity("Busy",
+                                "Busy account", new BigDecimal("1000.00"));
+                createBudget(9, 2024);
+                String budgetId = budgetRepository.findAll().get(0).getId().toString();
+                addBalancedBudgetItems(budgetId, account.getId().toString(), 1000.00);
+
+                // Another transaction holds the budget lifecycle advisory lock ("budglock")
+                try (java.sql.Connection connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        try (var statement = connection.createStatement()) {
+                                statement.execute("SELECT pg_advisory_xact_lock(" + 0x627564676C6F636BL + ")");
+                        }
+
+                        mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                                        .andExpect(status().isConflict())
+                                        .andExpect(jsonPath("$.error").exists());
+
+                        connection.rollback();
+                }
+
+                // Nothing was changed, and the lock goes through once the other transaction ends
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.status", is("LOCKED")));
+        }
+
+        private String lockBalancedBudget(int month, int year, String accountId, double income) throws Exception {
+                String response = mockMvc.perform(post("/api/budgets")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(createBudgetRequest(month, year))))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                String budgetId = objectMapper.readTree(response).get("id").asText();
+
+                addBalancedBudgetItems(budgetId, accountId, income);
+                mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                                .andExpect(status().isOk());
+                return budgetId;
+        }
+
         // Helper methods for unlock tests
 
         private void addBalancedBudgetItems(String budgetId, String accountId, double amount) throws Exception {
@@ -6904,6 +7325,48 @@ public class BudgetIntegrationTest {
                                 .andExpect(status().isCreated());
         }
 
+        private long timerCount(String name, String tagKey, String tagValue) {
+                var timer = meterRegistry.find(name).tag(tagKey, tagValue).timer();
+                return timer != null ? timer.count() : 0;
+        }
+
+        private long phaseCount(String operation, String phase) {
+                var timer = meterRegistry.find("budget.lifecycle.phase")
+                                .tag("operation", operation).tag("phase", phase).timer();
+                return timer != null ? timer.count() : 0;
+        }
+
+        // Six accounts: +100, +200, +300 against three -200. Greedy needs 5 transfers, the
+        // minimal plan 4 (the +200/-200 pair settles on its own).
+        private void addZeroSumSubsetItems(String budgetId) throws Exception {
+                String[] surplusAccounts = new String[3];
+                double[] incomes = { 100.00, 200.00, 300.00 };
+                for (int i = 0; i < 3; i++) {
+                        surplusAccounts[i] = createBankAccountEntity("Surplus " + i, "Income", BigDecimal.ZERO)
+                                        .getId().toString();
+                        Map<String, Object> incomeRequest = new HashMap<>();
+                        incomeRequest.put("bankAccountId", surplusAccounts[i]);
+                        incomeRequest.put("name", "Income " + i);
+                        incomeRequest.put("amount", incomes[i]);
+                        mockMvc.perform(post("/api/budgets/" + budgetId + "/income")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(incomeRequest)))
+                                        .andExpect(status().isCreated());
+                }
+                for (int i = 0; i < 3; i++) {
+                        String accountId = createBankAccountEntity("Deficit " + i, "Savings", BigDecimal.ZERO)
+                                        .getId().toString();
+                        Map<String, Object> savingsRequest = new HashMap<>();
+                        savingsRequest.put("bankAccountId", accountId);
+                        savingsRequest.put("name", "Savings " + i);
+                        savingsRequest.put("amount", 200.00);
+                        mockMvc.perform(post("/api/budgets/" + budgetId + "/savings")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(savingsRequest)))
+                                        .andExpect(status().isCreated());
+                }
+        }
+
         private void addIncomeAndExpenseWithRecurring(String budgetId, String accountId, String recurringExpenseId,
                         double income, double expense) throws Exception {
                 // Add income
@@ -0,0 +1,475 @@
+package org.example.axelnyman.main.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.axelnyman.main.domain.dtos.SavingsGoalDtos.CreateSavingsGoalRequest;
+import org.example.axelnyman.main.domain.dtos.SavingsGoalDtos.SeedAllocationRequest;
+import org.example.axelnyman.main.domain.model.BankAccount;
+import org.example.axelnyman.main.domain.model.Budget;
+import org.example.axelnyman.main.domain.model.BudgetStatus;
+import org.example.axelnyman.main.domain.model.RecurrenceInterval;
+import org.example.axelnyman.main.domain.model.RecurringExpense;
+import org.example.axelnyman.main.infrastructure.data.context.BalanceHistoryRepository;
+import org.example.axelnyman.main.infrastructure.data.context.BankAccountRepository;
+import org.example.axelnyman.main.infrastructure.data.context.BudgetExpenseRepository;
+import org.example.axelnyman.main.infrastructure.data.context.BudgetIncomeRepository;
+import org.example.axelnyman.main.infrastructure.data.context.BudgetRepository;
+import org.example.axelnyman.main.infrastructure.data.context.BudgetSavingsRepository;
+import org.example.axelnyman.main.infrastructure.data.context.GoalAllocationChangeRepository;
+import org.example.axelnyman.main.infrastructure.data.context.GoalAllocationRepository;
+import org.example.axelnyman.main.infrastructure.data.context.RecurringExpenseRepository;
+import org.example.axelnyman.main.infrastructure.data.context.SavingsGoalRepository;
+import org.example.axelnyman.main.infrastructure.data.context.TodoItemRepository;
+import org.example.axelnyman.main.infrastructure.data.context.TodoListRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards read endpoints against N+1 regressions by counting the JDBC statements
+ * Hibernate prepares while serving a request.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+public class QueryCountIntegrationTest {
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgreSQLContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgreSQLContainer::getUsername);
+        registry.add("spring.datasource.password", postgreSQLContainer::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceHistoryRepository balanceHistoryRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetIncomeRepository budgetIncomeRepository;
+
+    @Autowired
+    private BudgetExpenseRepository budgetExpenseRepository;
+
+    @Autowired
+    private BudgetSavingsRepository budgetSavingsRepository;
+
+    @Autowired
+    private RecurringExpenseRepository recurringExpenseRepository;
+
+    @Autowired
+    private TodoListRepository todoListRepository;
+
+    @Autowired
+    private TodoItemRepository todoItemRepository;
+
+    @Autowired
+    private SavingsGoalRepository savingsGoalRepository;
+
+    @Autowired
+    private GoalAllocationRepository goalAllocationRepository;
+
+    @Autowired
+    private GoalAllocationChangeRepository goalAllocationChangeRepository;
+
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .build();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Clean database state between tests (order matters due to foreign keys)
+        goalAllocationChangeRepository.deleteAll();
+        goalAllocationRepository.deleteAll();
+        savingsGoalRepository.deleteAll();
+        todoItemRepository.deleteAll();
+        todoListRepository.deleteAll();
+        budgetIncomeRepository.deleteAll();
+        budgetExpenseRepository.deleteAll();
+        budgetSavingsRepository.deleteAll();
+        recurringExpenseRepository.deleteAll();
+        budgetRepository.deleteAll();
+        balanceHistoryRepository.deleteAll();
+        bankAccountRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        if (postgreSQLContainer != null && postgreSQLContainer.isRunning()) {
+            postgreSQLContainer.stop();
+        }
+    }
+
+    @Test
+    void shouldListBudgetsWithTotalsInSingleStatement() throws Exception {
+        BankAccount account = createBankAccountEntity("Checking", new BigDecimal("10000.00"));
+
+        // Three budgets with line items; only the newest may stay unlocked
+        for (int month = 1; month <= 3; month++) {
+            UUID budgetId = createBudget(month, 2024);
+            addLineItem(budgetId, "income", account.getId(), "Salary", "3000.00");
+            addLineItem(budgetId, "expenses", account.getId(), "Rent", "1200.00");
+            addLineItem(budgetId, "savings", account.getId(), "Buffer", "300.00");
+
+            if (month < 3) {
+                Budget budget = budgetRepository.findById(budgetId).orElseThrow();
+                budget.setStatus(BudgetStatus.LOCKED);
+                budgetRepository.save(budget);
+            }
+        }
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/budgets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budgets", hasSize(3)))
+                .andExpect(jsonPath("$.budgets[0].month", is(3)))
+                .andExpect(jsonPath("$.budgets[0].totals.income", is(3000.00)))
+                .andExpect(jsonPath("$.budgets[2].totals.expenses", is(1200.00)))
+                .andExpect(jsonPath("$.budgets[2].totals.balance", is(1500.00)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListRecurringExpensesWithConstantStatementCount() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            BankAccount account = createBankAccountEntity("Account " + i, new BigDecimal("1000.00"));
+            recurringExpenseRepository.save(new RecurringExpense(
+                    "Expense " + i, new BigDecimal("10.00"), RecurrenceInterval.MONTHLY, false, account.getId()));
+        }
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/recurring-expenses"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.expenses", hasSize(5)))
+                .andExpect(jsonPath("$.expenses[0].bankAccount.name", is("Account 1")));
+
+        // One query for the expenses, one batched lookup for their accounts
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLoadTodoListWithConstantStatementCount() throws Exception {
+        BankAccount salary = createBankAccountEntity("Salary", new BigDecimal("5000.00"));
+        BankAccount bills = createBankAccountEntity("Bills", new BigDecimal("0.00"));
+        BankAccount savings = createBankAccountEntity("Savings", new BigDecimal("0.00"));
+
+        UUID budgetId = createBudget(1, 2024);
+        addLineItem(budgetId, "income", salary.getId(), "Salary", "3000.00");
+        addLineItem(budgetId, "expenses", bills.getId(), "Rent", "1500.00");
+        addLineItem(budgetId, "expenses", bills.getId(), "Power", "500.00");
+        addLineItem(budgetId, "savings", savings.getId(), "Buffer", "1000.00");
+
+        mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/budgets/" + budgetId + "/todo-list"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].fromAccount.name", is("Salary")));
+
+        // One query for the list, one for its items with from/to accounts joined
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAnswerUnchangedSavingsGoalsWithoutLoadingEntities() throws Exception {
+        BankAccount account = createBankAccountEntity("Savings", new BigDecimal("5000.00"));
+        CreateSavingsGoalRequest request = new CreateSavingsGoalRequest(
+                "Trip", new BigDecimal("1000.00"), null,
+                List.of(new SeedAllocationRequest(account.getId(), new BigDecimal("100.00"))));
+        mockMvc.perform(post("/api/savings-goals")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        String eTag = mockMvc.perform(get("/api/savings-goals"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/savings-goals").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        // Only the version stamp is read (plain JDBC); no goal, allocation or account is loaded
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldServeRepeatedLockedBudgetDetailsWithSingleStatement() throws Exception {
+        BankAccount salary = createBankAccountEntity("Salary", new BigDecimal("5000.00"));
+        BankAccount bills = createBankAccountEntity("Bills", new BigDecimal("0.00"));
+
+        UUID budgetId = createBudget(1, 2024);
+        addLineItem(budgetId, "income", salary.getId(), "Salary", "3000.00");
+        addLineItem(budgetId, "expenses", bills.getId(), "Rent", "3000.00");
+
+        mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/budgets/" + budgetId))
+                .andExpect(status().isOk());
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/budgets/" + budgetId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("LOCKED")))
+                .andExpect(jsonPath("$.income[0].bankAccount.name", is("Salary")))
+                .andExpect(jsonPath("$.totals.expenses", is(3000.00)));
+
+        // Only the budget itself is read; its line items come from the locked snapshot
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldListSavingsGoalsInThreeStatements() throws Exception {
+        BankAccount first = createBankAccountEntity("First", new BigDecimal("5000.00"));
+        BankAccount second = createBankAccountEntity("Second", new BigDecimal("5000.00"));
+
+        for (int i = 1; i <= 4; i++) {
+            CreateSavingsGoalRequest request = new CreateSavingsGoalRequest(
+                    "Goal " + i, new BigDecimal("1000.00"), null,
+                    List.of(new SeedAllocationRequest(first.getId(), new BigDecimal("100.00")),
+                            new SeedAllocationRequest(second.getId(), new BigDecimal("50.00"))));
+            mockMvc.perform(post("/api/savings-goals")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        statistics.clear();
+
+        mockMvc.perform(get("/api/savings-goals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.goalCount", is(4)))
+                .andExpect(jsonPath("$.goals[0].allocations", hasSize(2)));
+
+        // Goals, allocations for all goals (IN), account names
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCheckUnlockedBudgetLinkInSingleStatement() throws Exception {
+        BankAccount account = createBankAccountEntity("Linked", new BigDecimal("1000.00"));
+        UUID budgetId = createBudget(6, 2024);
+        addLineItem(budgetId, "savings", account.getId(), "Buffer", "100.00");
+
+        statistics.clear();
+
+        mockMvc.perform(delete("/api/bank-accounts/" + account.getId()))
+                .andExpect(status().isBadRequest());
+
+        // Account lookup, then one EXISTS over income, expenses and savings
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLockAndUnlockWithStatementCountIndependentOfItemCount() throws Exception {
+        BankAccount salary = createBankAccountEntity("Salary", new BigDecimal("5000.00"));
+        BankAccount bills = createBankAccountEntity("Bills", new BigDecimal("0.00"));
+        BankAccount savings = createBankAccountEntity("Savings", new BigDecimal("0.00"));
+
+        UUID budgetId = createBudget(1, 2024);
+        addLineItem(budgetId, "income", salary.getId(), "Salary", "3000.00");
+        addRecurringExpenseItem(budgetId, bills.getId(), "Rent", "2000.00");
+        addLineItem(budgetId, "savings", savings.getId(), "Buffer", "1000.00");
+
+        statistics.clear();
+        mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                .andExpect(status().isOk());
+        long smallLock = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(put("/api/budgets/" + budgetId + "/unlock"))
+                .andExpect(status().isOk());
+        long smallUnlock = statistics.getPrepareStatementCount();
+
+        // Same budget, now with three more accounts, two more recurring expenses and more transfers
+        BankAccount side = createBankAccountEntity("Side", new BigDecimal("0.00"));
+        BankAccount car = createBankAccountEntity("Car", new BigDecimal("0.00"));
+        BankAccount phone = createBankAccountEntity("Phone", new BigDecimal("0.00"));
+        BankAccount travel = createBankAccountEntity("Travel", new BigDecimal("0.00"));
+        addLineItem(budgetId, "income", side.getId(), "Side job", "1500.00");
+        addRecurringExpenseItem(budgetId, car.getId(), "Car loan", "500.00");
+        addRecurringExpenseItem(budgetId, phone.getId(), "Phone", "500.00");
+        addLineItem(budgetId, "savings", travel.getId(), "Travel", "500.00");
+
+        statistics.clear();
+        mockMvc.perform(put("/api/budgets/" + budgetId + "/lock"))
+                .andExpect(status().isOk());
+        long largeLock = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        mockMvc.perform(put("/api/budgets/" + budgetId + "/unlock"))
+                .andExpect(status().isOk());
+        long largeUnlock = statistics.getPrepareStatementCount();
+
+        // Balance changes, todo items, recurring expenses and their reversals are all
+        // set-based or batched, so more items must not mean more statements
+        assertThat(largeLock).isEqualTo(smallLock);
+        assertThat(largeUnlock).isEqualTo(smallUnlock);
+        assertThat(recurringExpenseRepository.findAll())
+                .allSatisfy(expense -> assertThat(expense.getLastUsedBudgetId()).isNull());
+    }
+
+    @Test
+    void shouldRejectMultiGoalBalanceDecreaseWithStatementCountIndependentOfGoalCount() throws Exception {
+        BankAccount twoGoals = createBankAccountEntity("Two goals", new BigDecimal("1000.00"));
+        BankAccount fiveGoals = createBankAccountEntity("Five goals", new BigDecimal("1000.00"));
+        createGoalsBackedBy(twoGoals, 2);
+        createGoalsBackedBy(fiveGoals, 5);
+
+        statistics.clear();
+        decreaseBalanceExpectingConflict(twoGoals, 2);
+        long fewGoals = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        decreaseBalanceExpectingConflict(fiveGoals, 5);
+        long manyGoals = statistics.getPrepareStatementCount();
+
+        // Goal names come with the allocations, never one lookup per goal
+        assertThat(manyGoals).isEqualTo(fewGoals);
+    }
+
+    private BankAccount createBankAccountEntity(String name, BigDecimal balance) {
+        BankAccount account = new BankAccount();
+        account.setName(name);
+        account.setDescription(name + " account");
+        account.setCurrentBalance(balance);
+        return bankAccountRepository.save(account);
+    }
+
+    private UUID createBudget(int month, int year) throws Exception {
+        String response = mockMvc.perform(post("/api/budgets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("month", month, "year", year))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get("id").asText());
+    }
+
+    private void addRecurringExpenseItem(UUID budgetId, UUID bankAccountId, String name, String amount)
+            throws Exception {
+        RecurringExpense recurring = recurringExpenseRepository.save(new RecurringExpense(
+                name, new BigDecimal(amount), RecurrenceInterval.MONTHLY, false, bankAccountId));
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("name", name);
+        request.put("amount", amount);
+        request.put("bankAccountId", bankAccountId.toString());
+        request.put("recurringExpenseId", recurring.getId().toString());
+        request.put("isManual", false);
+
+        mockMvc.perform(post("/api/budgets/" + budgetId + "/expenses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
+    private void createGoalsBackedBy(BankAccount account, int count) throws Exception {
+        for (int i = 1; i <= count; i++) {
+            CreateSavingsGoalRequest request = new CreateSavingsGoalRequest(
+                    account.getName() + " goal " + i, new BigDecimal("1000.00"), null,
+                    List.of(new SeedAllocationRequest(account.getId(), new BigDecimal("100.00"))));
+            mockMvc.perform(post("/api/savings-goals")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private void decreaseBalanceExpectingConflict(BankAccount account, int goalCount) throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("newBalance", "50.00");
+        request.put("date", java.time.LocalDate.now().toString());
+
+        mockMvc.perform(post("/api/bank-accounts/" + account.getId() + "/balance")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.goals", hasSize(goalCount)));
+    }
+
+    private void addLineItem(UUID budgetId, String type, UUID bankAccountId, String name, String amount)
+            throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("name", name);
+        request.put("amount", amount);
+        request.put("bankAccountId", bankAccountId.toString());
+        if (type.equals("expenses")) {
+            request.put("isManual", false);
+        }
+
+        mockMvc.perform(post("/api/budgets/" + budgetId + "/" + type)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+}